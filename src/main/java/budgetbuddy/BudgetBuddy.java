@@ -23,12 +23,13 @@ public class BudgetBuddy {
 
         BudgetManager budgetManager = new BudgetManager();
         StorageManager.load(budgetManager);
+        StorageManager.openJournal(budgetManager);
         InputManager inputManager = new InputManager(budgetManager);
         Ui ui = new Ui();
 
         ui.printWelcomeMessage();
 
         inputManager.processInputLoop();
-        StorageManager.save(budgetManager);
+        StorageManager.closeJournal();
     }
 }
@@ -0,0 +1,43 @@
+package budgetbuddy.command;
+
+import budgetbuddy.exception.InvalidInputException;
+import budgetbuddy.model.AlertThreshold;
+import budgetbuddy.model.BudgetManager;
+import budgetbuddy.parser.AddAlertParser;
+
+/**
+ * The AddAlertCommand class represents a command that adds an alert threshold to a budget.
+ *
+ * <p>A budget can have any number of thresholds, each an amount or a percentage of the budget limit.
+ * A notice is printed when the spending of the budget reaches one of them.</p>
+ */
+public class AddAlertCommand extends Command {
+
+    public AddAlertCommand(String description) {
+        super(description);
+    }
+
+    /**
+     * Executes the AddAlertCommand by parsing the category and threshold and adding the threshold
+     * through {@link BudgetManager#addAlertThreshold(String, AlertThreshold)}.
+     *
+     * @param budgetManager The BudgetManager holding the budget to add the threshold to.
+     * @throws InvalidInputException If the category or threshold is invalid.
+     */
+    @Override
+    public void execute(BudgetManager budgetManager) throws InvalidInputException {
+        AddAlertParser parser = new AddAlertParser(description);
+        String[] parts = parser.parse();
+        budgetManager.addAlertThreshold(parts[0], AlertThreshold.parse(parts[1]));
+    }
+
+    /**
+     * Returns {@code false} as this command does not signify the end of the program.
+     *
+     * @return {@code false} to indicate the program should not exit after executing this command.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -2,12 +2,12 @@ package budgetbuddy.command;
 
 import budgetbuddy.exception.InvalidInputException;
 import budgetbuddy.model.BudgetManager;
+import budgetbuddy.model.Recurrence;
+import budgetbuddy.model.RecurringRule;
 import budgetbuddy.parser.AddRecurringParser;
 import budgetbuddy.parser.DateTimeParser;
 import budgetbuddy.ui.Ui;
 
-import java.io.OutputStream;
-import java.io.PrintStream;
 import java.time.LocalDateTime;
 
 /**
@@ -19,9 +19,12 @@ import java.time.LocalDateTime;
  *     <li>Category (e.g., Food, Transport, Overall)</li>
  *     <li>Description</li>
  *     <li>Start date and time</li>
- *     <li>Recurring frequency (in days)</li>
- *     <li>Number of iterations (how many times to add the expense)</li>
+ *     <li>Recurring frequency, in days or as a calendar rule such as monthly or
+ *     FREQ=MONTHLY;BYDAY=-1FR (the last Friday of each month)</li>
+ *     <li>Optionally, the number of iterations (how many times to add the expense)</li>
+ *     <li>Optionally, the end date and time after which the expense no longer recurs</li>
  * </ul>
+ * Without iterations or an end date, the expense recurs indefinitely.
  * <p>
  * The expected format for the date and time is:
  * <pre>
@@ -36,15 +39,17 @@ import java.time.LocalDateTime;
  * Constraints:
  * <ul>
  *     <li>Maximum frequency: 1000 days</li>
- *     <li>Maximum iterations: 10</li>
+ *     <li>At most 1000 occurrences already due when the expense is added</li>
  * </ul>
  * <p>
- * Output during repeated expense addition is temporarily suppressed to avoid console clutter.
- * Once complete, a confirmation message and the full expense list will be displayed.
+ * The recurring expense is stored as a single rule. Occurrences up to now are added as expenses straight away,
+ * and later ones are added as they come due, so a long-running rule costs no more than a short one.
+ * Once the rule is added, a confirmation message and the full expense list will be displayed.
  *
  * Example usage:
  * <pre>
  * add-recurring 20 c/Food d/Lunch t/Apr 24 2025 at 12:00 f/30 i/5
+ * add-recurring 1200 c/Rent d/Rent t/Jan 01 2025 at 09:00 f/monthly
  * </pre>
  *
  * @author juneja999
@@ -54,7 +59,6 @@ public class AddRecurringExpenseCommand extends Command {
 
     //these are the constraints we are adding to this command
     public static final int MAX_FREQUENCY_ADD_RECURRING  = 1000;
-    public static final int MAX_ITERATIONS_ADD_RECURRING = 10;
 
     public AddRecurringExpenseCommand(String description){
         super(description);
@@ -71,47 +75,37 @@ public class AddRecurringExpenseCommand extends Command {
         String category = parsedData[1];
         String expenseDescription = parsedData[2];
         String startTime = parsedData[3];
-        int recurringFrequency = Integer.parseInt(parsedData[4]);
+        String frequency = parsedData[4];
         int recurringIterations = Integer.parseInt(parsedData[5]);
-
-        //throws error when frequency greater than 100 and returns
-        if(recurringFrequency > MAX_FREQUENCY_ADD_RECURRING){
-            System.err.println("Frequency should be less than or equal to 1000 days for add-recurring command.");
-            return;
-        }
-        //throws error when iterations more than 10 and returns
-        if(recurringIterations > MAX_ITERATIONS_ADD_RECURRING){
-            System.err.println("Iterations should be less than or equal to 10 for add-recurring command.");
-            return;
+        String endTime = parsedData[6];
+
+        //a plain number is a frequency in days; anything else is a calendar rule the parser already checked
+        Recurrence recurrence;
+        if (frequency.chars().allMatch(Character::isDigit)) {
+            int recurringFrequency = Integer.parseInt(frequency);
+            //throws error when frequency greater than 1000 and returns
+            if (recurringFrequency > MAX_FREQUENCY_ADD_RECURRING) {
+                System.err.println("Frequency should be less than or equal to 1000 days for add-recurring command.");
+                return;
+            }
+            recurrence = Recurrence.everyDays(recurringFrequency);
+        } else {
+            recurrence = Recurrence.parse(frequency);
         }
 
         //get formatted date time from DateTimeParser,
         //even if user inputs wrong format, this will utilise the correct format
         //and successive iterations would be based upon this
         LocalDateTime startTimeParsed = DateTimeParser.parseOrDefault(startTime, false);
-        startTime = startTimeParsed.format(DateTimeParser.DATETIME_FORMAT);
-
+        LocalDateTime endTimeParsed = endTime.isEmpty() ? null : DateTimeParser.parseOrDefault(endTime, true);
 
-        //From hereon we start adding expenses to budget
-        //While we are adding expenses, we redirect all the print notifications to nullspace
-        //this is done so that our console is not cluttered with all the addExpenseToBudget print lines
+        //the rule is stored once; occurrences that are already due become expenses right away
         System.out.println("Adding recurring expense to budget...");
-        PrintStream orignalOut = System.out;
-        System.setOut(new PrintStream(OutputStream.nullOutputStream())); //redirecting print lines
-
-        // SHOULD SUPPRESS ERROR MESSAGES ALSO?
-        for(int i=0; i<recurringIterations; i++){
-
-            //after the first iteration, we successively add time for the expenses
-            if(i>0){
-                startTimeParsed = startTimeParsed.plusDays(recurringFrequency);
-                startTime = startTimeParsed.format(DateTimeParser.DATETIME_FORMAT);
-            }
-            budgetManager.addExpenseToBudget(category , amount , expenseDescription , startTime );
-        }
-        System.setOut(orignalOut); //re-instantiating to console
+        RecurringRule rule = budgetManager.addRecurringExpense(category, amount, expenseDescription,
+                startTimeParsed, recurrence, recurringIterations, endTimeParsed);
         Ui.printSeparator();
         System.out.println("Hooray! Added recurring expense(s) to budget.");
+        Ui.printRecurringRuleAdded(rule);
         System.out.println("Here is the list:");
         budgetManager.listAllExpenses(); // show the list after adding
 
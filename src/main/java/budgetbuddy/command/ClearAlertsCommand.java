@@ -0,0 +1,41 @@
+package budgetbuddy.command;
+
+import budgetbuddy.exception.InvalidInputException;
+import budgetbuddy.model.BudgetManager;
+import budgetbuddy.parser.ClearAlertsParser;
+
+/**
+ * The ClearAlertsCommand class represents a command that removes every alert threshold of a budget.
+ *
+ * <p>Without a category, the thresholds of the Overall budget are removed. The single alert set with
+ * the "alert" command is not affected; use "delete-alert" for that.</p>
+ */
+public class ClearAlertsCommand extends Command {
+
+    public ClearAlertsCommand(String description) {
+        super(description);
+    }
+
+    /**
+     * Executes the ClearAlertsCommand by parsing the category and removing its thresholds through
+     * {@link BudgetManager#clearAlertThresholds(String)}.
+     *
+     * @param budgetManager The BudgetManager holding the budget to clear.
+     * @throws InvalidInputException If the input format is invalid.
+     */
+    @Override
+    public void execute(BudgetManager budgetManager) throws InvalidInputException {
+        ClearAlertsParser parser = new ClearAlertsParser(description);
+        budgetManager.clearAlertThresholds(parser.parse());
+    }
+
+    /**
+     * Returns {@code false} as this command does not signify the end of the program.
+     *
+     * @return {@code false} to indicate the program should not exit after executing this command.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
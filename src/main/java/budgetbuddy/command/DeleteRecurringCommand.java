@@ -0,0 +1,40 @@
+package budgetbuddy.command;
+
+import budgetbuddy.exception.InvalidInputException;
+import budgetbuddy.model.BudgetManager;
+import budgetbuddy.parser.DeleteRecurringParser;
+
+/**
+ * The DeleteRecurringCommand class represents a command that stops a recurring expense.
+ *
+ * <p>This command parses the index shown by "list-recurring" and removes that rule using the
+ * {@link BudgetManager#deleteRecurringRule(int)} method. Expenses the rule already added are kept.</p>
+ */
+public class DeleteRecurringCommand extends Command {
+
+    public DeleteRecurringCommand(String description) {
+        super(description);
+    }
+
+    /**
+     * Executes the DeleteRecurringCommand by parsing the index and removing the matching recurring rule.
+     *
+     * @param budgetManager The BudgetManager holding the recurring rules.
+     * @throws InvalidInputException If the input format or the index is invalid.
+     */
+    @Override
+    public void execute(BudgetManager budgetManager) throws InvalidInputException {
+        DeleteRecurringParser parser = new DeleteRecurringParser(description);
+        budgetManager.deleteRecurringRule(parser.parse());
+    }
+
+    /**
+     * Returns {@code false} as this command does not signify the end of the program.
+     *
+     * @return {@code false} to indicate the program should not exit after executing this command.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -24,8 +24,7 @@ public class EditAlertCommand extends Command {
     public void execute(BudgetManager budgetManager) throws InvalidInputException {
         AlertParser parser = new AlertParser(description);
         double newAmount = parser.parse();
-        budgetManager.getBudgetAlert().editAlertAmount(newAmount);
-        budgetManager.checkBudgetAlert();
+        budgetManager.editBudgetAlert(newAmount);
     }
 
     /**
@@ -0,0 +1,77 @@
+package budgetbuddy.command;
+
+import budgetbuddy.exception.InvalidInputException;
+import budgetbuddy.model.BudgetManager;
+import budgetbuddy.parser.DateTimeParser;
+import budgetbuddy.parser.ExportParser;
+import budgetbuddy.storage.ExpenseExporter;
+import budgetbuddy.ui.Ui;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * The ExportCommand class represents a command that writes the expenses of the Overall budget to a file.
+ *
+ * <p>The file is written as JSON if its name ends with ".json", and as CSV otherwise. With start/ or end/,
+ * only the expenses in that window are exported, as with the "list" command.</p>
+ */
+public class ExportCommand extends Command {
+
+    public ExportCommand(String description) {
+        super(description);
+    }
+
+    /**
+     * Executes the ExportCommand by parsing the file and window and writing the expenses through
+     * {@link ExpenseExporter}.
+     *
+     * @param budgetManager The BudgetManager holding the expenses to export.
+     * @throws InvalidInputException If the input format is invalid or the file cannot be written.
+     */
+    @Override
+    public void execute(BudgetManager budgetManager) throws InvalidInputException {
+        String[] values = new ExportParser(description).parse();
+        LocalDateTime from = parseBound(values[1]);
+        LocalDateTime to = parseBound(values[2]);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidInputException("start/ must not be after end/.");
+        }
+
+        Path path;
+        try {
+            path = Path.of(values[0]);
+        } catch (InvalidPathException e) {
+            throw new InvalidInputException("Invalid file path: " + values[0]);
+        }
+        try {
+            int exported = ExpenseExporter.export(budgetManager.getBudgets().get("Overall"), from, to, path,
+                    ExpenseExporter.Format.fromFileName(values[0]));
+            Ui.printExportSummary(exported, values[0]);
+        } catch (IOException e) {
+            throw new InvalidInputException("Could not write " + values[0] + ": " + e.getMessage());
+        }
+    }
+
+    private static LocalDateTime parseBound(String text) throws InvalidInputException {
+        if (text.isEmpty()) {
+            return null;
+        }
+        if (!DateTimeParser.parseOrDefaultBooleanReturn(text, true)) {
+            throw new InvalidInputException("start/ and end/ must follow the format MMM dd yyyy at HH:mm.");
+        }
+        return DateTimeParser.parseOrDefault(text, true);
+    }
+
+    /**
+     * Returns {@code false} as this command does not signify the end of the program.
+     *
+     * @return {@code false} to indicate the program should not exit after executing this command.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
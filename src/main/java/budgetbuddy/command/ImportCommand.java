@@ -0,0 +1,70 @@
+package budgetbuddy.command;
+
+import budgetbuddy.exception.InvalidInputException;
+import budgetbuddy.model.BudgetManager;
+import budgetbuddy.parser.ImportParser;
+import budgetbuddy.storage.ExpenseImporter;
+import budgetbuddy.ui.Ui;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+/**
+ * The ImportCommand class represents a command that imports expenses from a CSV file,
+ * such as a statement exported from a bank.
+ *
+ * <p>Each row becomes an expense in the Overall budget and, if the file has a category column naming an
+ * existing budget, in that budget too. Rows that cannot be read, and credit rows whose amount has the sign
+ * of money paid in, are skipped and counted.</p>
+ */
+public class ImportCommand extends Command {
+
+    public ImportCommand(String description) {
+        super(description);
+    }
+
+    /**
+     * Executes the ImportCommand by parsing the file and column mapping and reading the file through
+     * an {@link ExpenseImporter}.
+     *
+     * @param budgetManager The BudgetManager to add the imported expenses to.
+     * @throws InvalidInputException If the input format is invalid, or the file cannot be found or read.
+     */
+    @Override
+    public void execute(BudgetManager budgetManager) throws InvalidInputException {
+        String[] values = new ImportParser(description).parse();
+        Path path;
+        try {
+            path = Path.of(values[0]);
+        } catch (InvalidPathException e) {
+            throw new InvalidInputException("Invalid file path: " + values[0]);
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new InvalidInputException("File not found: " + values[0]);
+        }
+
+        ExpenseImporter importer = new ExpenseImporter(values[1], values[2], values[3], values[4], values[5],
+                values[6].equals("-"));
+        try {
+            importer.importFile(path, budgetManager);
+        } catch (IOException e) {
+            throw new InvalidInputException("Could not read " + values[0] + ": " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException(e.getMessage());
+        }
+        Ui.printImportSummary(importer.getImportedCount(), importer.getSkippedCount(), importer.getCreditCount(),
+                importer.getUnknownCategories());
+    }
+
+    /**
+     * Returns {@code false} as this command does not signify the end of the program.
+     *
+     * @return {@code false} to indicate the program should not exit after executing this command.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -0,0 +1,68 @@
+package budgetbuddy.command;
+
+import budgetbuddy.exception.InvalidInputException;
+import budgetbuddy.model.BudgetManager;
+import budgetbuddy.parser.DateTimeParser;
+import budgetbuddy.parser.ListParser;
+import budgetbuddy.ui.Ui;
+
+import java.time.LocalDateTime;
+
+/**
+ * The ListRecurringCommand class represents a command that lists every recurring expense rule,
+ * together with the date of its next occurrence.
+ *
+ * <p>With start/ and end/ given, it instead shows how many times each rule occurs in that window and the
+ * total recurring spending, worked out from the rules without producing any expenses.</p>
+ */
+public class ListRecurringCommand extends Command {
+
+    public ListRecurringCommand(String description) {
+        super(description);
+    }
+
+    /**
+     * Executes the ListRecurringCommand by printing the recurring rules of the budget manager,
+     * or their spending in a window of time.
+     *
+     * @param budgetManager The BudgetManager holding the recurring rules.
+     * @throws InvalidInputException If the command has extra parameters or an invalid window.
+     */
+    @Override
+    public void execute(BudgetManager budgetManager) throws InvalidInputException {
+        if (description.trim().equals("list-recurring")) {
+            Ui.printRecurringRules(budgetManager.getRecurringRules());
+            return;
+        }
+        if (!description.contains("start/") && !description.contains("end/")) {
+            throw new InvalidInputException("Invalid format. Use: 'list-recurring' or "
+                    + "'list-recurring start/<START_TIME> end/<END_TIME>'");
+        }
+
+        String[] window = new ListParser(description).parse();
+        if (window[0].isEmpty() || window[1].isEmpty()) {
+            throw new InvalidInputException("Both start/ and end/ are needed to total recurring expenses.");
+        }
+        if (!DateTimeParser.parseOrDefaultBooleanReturn(window[0], true)
+                || !DateTimeParser.parseOrDefaultBooleanReturn(window[1], true)) {
+            throw new InvalidInputException("start/ and end/ must follow the format MMM dd yyyy at HH:mm.");
+        }
+        LocalDateTime from = DateTimeParser.parseOrDefault(window[0], true);
+        LocalDateTime to = DateTimeParser.parseOrDefault(window[1], true);
+        if (from.isAfter(to)) {
+            throw new InvalidInputException("start/ must not be after end/.");
+        }
+        Ui.printRecurringForecast(budgetManager.getRecurringRules(), from, to,
+                budgetManager.getRecurringCentsBetween(from, to));
+    }
+
+    /**
+     * Returns {@code false} as this command does not signify the end of the program.
+     *
+     * @return {@code false} to indicate the program should not exit after executing this command.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -1,6 +1,7 @@
 package budgetbuddy.command;
 
 import budgetbuddy.model.BudgetManager;
+import budgetbuddy.model.BudgetPeriod;
 import budgetbuddy.exception.InvalidInputException;
 import budgetbuddy.parser.SetBudgetParser;
 
@@ -19,7 +20,7 @@ public class SetBudgetCommand extends Command{
     /**
      * Executes the SetBudgetCommand by setting a budget for the specified category.
      *
-     * <p>This method parses the description for category and amount, then delegates the task of
+     * <p>This method parses the description for category, amount and period, then delegates the task of
      * setting the budget to the {@link BudgetManager}.</p>
      *
      * @param budgetManager The BudgetManager responsible for managing budgets and expenses.
@@ -31,7 +32,8 @@ public class SetBudgetCommand extends Command{
         String[] splitline = parser.parse();
         String category = splitline[0];
         double amount = Double.parseDouble(splitline[1]);
-        budgetManager.setBudget(category, amount);
+        BudgetPeriod period = (splitline[2] == null) ? null : BudgetPeriod.fromString(splitline[2]);
+        budgetManager.setBudget(category, amount, period);
     }
 
     /**
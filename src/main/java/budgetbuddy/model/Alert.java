@@ -2,18 +2,25 @@ package budgetbuddy.model;
 
 import budgetbuddy.ui.Ui;
 
+import java.time.LocalDate;
+
 /**
  * Manages budget alerts and notifies the user when expenses exceed a specified amount.
+ * The alert amount is kept in cents, see {@link Money}.
+ * The notice is edge-triggered: it is printed once when spending reaches or passes the amount,
+ * and again only after spending has dropped back below it or a new budget period has started.
  */
 public class Alert {
-    private double alertAmount;
+    private long alertCents;
     private boolean isActive;
+    private SpendLevel lastLevel = SpendLevel.BELOW;
+    private LocalDate lastPeriodStart = LocalDate.MIN; // Period the last level belongs to
 
     /**
      * Initializes the Alert with no active limit.
      */
     public Alert() {
-        this.alertAmount = 0;
+        this.alertCents = 0;
         this.isActive = false;
     }
 
@@ -37,11 +44,12 @@ public class Alert {
             Ui.printInvalidBudgetAlertWarning();
         }
 
-        this.alertAmount = amount;
-        this.isActive = amount > 0;
+        this.alertCents = Money.toCents(amount);
+        this.isActive = alertCents > 0;
+        this.lastLevel = SpendLevel.BELOW;
 
         if (isActive) {
-            Ui.printSetBudgetAlert(alertAmount, false);
+            Ui.printSetBudgetAlert(getAlertAmount(), false);
         }else {
             Ui.printRemoveBudgetAlert();
         }
@@ -50,18 +58,40 @@ public class Alert {
     /**
      * Checks if total expenses exceed the alert amount.
      * if expenses hits exactly alert amount Hit Alert is triggered.
+     * Nothing is printed if the same notice was already given for the current crossing in the same period.
      *
-     * @param totalExpenses The current total expenses.
+     * @param totalCents  The current total expenses in cents.
+     * @param periodStart The first day of the period the total belongs to, see {@link Budget#getPeriodStart()}.
      */
-    public void checkAlert(double totalExpenses) {
-        assert totalExpenses >= 0 : "Total expenses cannot be negative";
-        if (isActive) {
-            if (totalExpenses > alertAmount) {
-                Ui.printCheckAlert(totalExpenses, alertAmount);
-            } else if (totalExpenses == alertAmount) {
-                Ui.printHitAlert(totalExpenses);
-            }
+    public void checkAlert(long totalCents, LocalDate periodStart) {
+        assert totalCents >= 0 : "Total expenses cannot be negative";
+        if (!periodStart.equals(lastPeriodStart)) {
+            lastPeriodStart = periodStart;
+            lastLevel = SpendLevel.BELOW;
+        }
+        SpendLevel level = isActive ? SpendLevel.of(totalCents, alertCents) : SpendLevel.BELOW;
+        boolean isRaised = level.isAbove(lastLevel);
+        lastLevel = level;
+        if (!isRaised) {
+            return;
         }
+        if (level == SpendLevel.EXCEEDED) {
+            Ui.printCheckAlert(Money.toDollars(totalCents), getAlertAmount());
+        } else {
+            Ui.printHitAlert(Money.toDollars(totalCents));
+        }
+    }
+
+    /**
+     * Records the current total as already reported, without printing anything.
+     * This is used after loading saved data, whose crossings were reported in an earlier session.
+     *
+     * @param totalCents  The current total expenses in cents.
+     * @param periodStart The first day of the period the total belongs to, see {@link Budget#getPeriodStart()}.
+     */
+    public void markSeen(long totalCents, LocalDate periodStart) {
+        lastPeriodStart = periodStart;
+        lastLevel = isActive ? SpendLevel.of(totalCents, alertCents) : SpendLevel.BELOW;
     }
 
     /**
@@ -70,7 +100,16 @@ public class Alert {
      * @return The alert threshold.
      */
     public double getAlertAmount() {
-        return alertAmount;
+        return Money.toDollars(alertCents);
+    }
+
+    /**
+     * Gets the current alert amount in cents.
+     *
+     * @return The alert threshold in cents.
+     */
+    public long getAlertCents() {
+        return alertCents;
     }
 
 
@@ -82,14 +121,15 @@ public class Alert {
     public double editAlertAmount(double amount) {
         if (amount < 0) {
             Ui.printInvalidBudgetAlertWarning();
-            return (int) alertAmount;
+            return (int) getAlertAmount();
         }
 
-        this.alertAmount = amount;
-        this.isActive = amount > 0;
+        this.alertCents = Money.toCents(amount);
+        this.isActive = alertCents > 0;
+        this.lastLevel = SpendLevel.BELOW;
 
         if (isActive) {
-            Ui.printSetBudgetAlert(alertAmount, true);
+            Ui.printSetBudgetAlert(getAlertAmount(), true);
         }else {
             Ui.printRemoveBudgetAlert();
         }
@@ -97,9 +137,22 @@ public class Alert {
         return amount;
     }
 
+    /**
+     * Restores a previously saved alert amount without printing any confirmation.
+     * This is used when replaying saved data on startup.
+     *
+     * @param amount The saved alert threshold, 0 if no alert was active.
+     */
+    public void restoreAlert(double amount) {
+        this.alertCents = Math.max(0, Money.toCents(amount));
+        this.isActive = alertCents > 0;
+        this.lastLevel = SpendLevel.BELOW;
+    }
+
     public void removeAlert() {
-        this.alertAmount = 0;
+        this.alertCents = 0;
         this.isActive = false;
+        this.lastLevel = SpendLevel.BELOW;
         Ui.printRemoveBudgetAlert();
     }
 }
@@ -0,0 +1,113 @@
+package budgetbuddy.model;
+
+/**
+ * One alert threshold of a budget, either a fixed amount or a percentage of the budget limit.
+ * Both are kept as whole numbers in hundredths: cents for an amount, hundredths of a percent for a percentage.
+ */
+public class AlertThreshold {
+    private static final long HUNDREDTHS_PER_WHOLE = 100;
+    private static final long HUNDREDTHS_PER_PERCENT_OF_LIMIT = 100 * HUNDREDTHS_PER_WHOLE;
+
+    private final boolean isPercentage;
+    private final long value;
+
+    private AlertThreshold(boolean isPercentage, long value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("Alert threshold must be greater than 0.");
+        }
+        this.isPercentage = isPercentage;
+        this.value = value;
+    }
+
+    /**
+     * Creates a threshold at a fixed amount.
+     *
+     * @param cents The amount in cents.
+     * @return The threshold.
+     * @throws IllegalArgumentException If the amount is not positive.
+     */
+    public static AlertThreshold ofCents(long cents) {
+        return new AlertThreshold(false, cents);
+    }
+
+    /**
+     * Creates a threshold at a percentage of the budget limit.
+     *
+     * @param hundredths The percentage in hundredths of a percent, so 8000 is 80%.
+     * @return The threshold.
+     * @throws IllegalArgumentException If the percentage is not positive.
+     */
+    public static AlertThreshold ofPercentage(long hundredths) {
+        return new AlertThreshold(true, hundredths);
+    }
+
+    /**
+     * Parses a threshold written as an amount, such as {@code "50"}, or a percentage, such as {@code "80%"}.
+     *
+     * @param text The threshold to parse.
+     * @return The threshold.
+     * @throws NumberFormatException    If the text is not a number.
+     * @throws IllegalArgumentException If the threshold is not positive.
+     */
+    public static AlertThreshold parse(String text) {
+        String trimmed = text.trim();
+        if (trimmed.endsWith("%")) {
+            return ofPercentage(Money.parseCents(trimmed.substring(0, trimmed.length() - 1)));
+        }
+        return ofCents(Money.parseCents(trimmed));
+    }
+
+    public boolean isPercentage() {
+        return isPercentage;
+    }
+
+    /**
+     * Gets the raw value: cents for an amount, hundredths of a percent for a percentage.
+     *
+     * @return The value in hundredths.
+     */
+    public long getValue() {
+        return value;
+    }
+
+    /**
+     * Works out the amount at which this threshold is reached for a budget limit.
+     *
+     * @param limitCents The budget limit in cents.
+     * @return The amount in cents, or 0 if this is a percentage and the budget has no limit.
+     */
+    public long resolveCents(long limitCents) {
+        if (!isPercentage) {
+            return value;
+        }
+        return (limitCents * value + HUNDREDTHS_PER_PERCENT_OF_LIMIT / 2) / HUNDREDTHS_PER_PERCENT_OF_LIMIT;
+    }
+
+    /**
+     * Formats the threshold the way it is typed, such as {@code "80%"} or {@code "50.00"}.
+     *
+     * @return The threshold as text.
+     */
+    @Override
+    public String toString() {
+        if (!isPercentage) {
+            return Money.toPlainString(value);
+        }
+        return (value % HUNDREDTHS_PER_WHOLE == 0 ? String.valueOf(value / HUNDREDTHS_PER_WHOLE)
+                : Money.toPlainString(value)) + "%";
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof AlertThreshold)) {
+            return false;
+        }
+        AlertThreshold threshold = (AlertThreshold) other;
+        return isPercentage == threshold.isPercentage && value == threshold.value;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(value) * 31 + (isPercentage ? 1 : 0);
+    }
+}
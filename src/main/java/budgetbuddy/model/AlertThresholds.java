@@ -0,0 +1,156 @@
+package budgetbuddy.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The alert thresholds of one budget, split into those still pending and those already reached.
+ * <p>
+ * Pending thresholds sit in a min-heap ordered by amount, which within one budget is the same as ordering them
+ * by remaining headroom, so after each change only the nearest pending threshold is compared against the new
+ * spending. Reached thresholds sit in a max-heap, so a drop in spending re-arms them from the top in the same
+ * way. With k thresholds, a change that crosses none of them costs O(1), and each crossing costs O(log k).
+ * </p>
+ */
+public class AlertThresholds {
+    private final List<Entry> entries = new ArrayList<>();
+    private final PriorityQueue<Entry> pending = new PriorityQueue<>(Comparator.comparingLong(e -> e.cents));
+    private final PriorityQueue<Entry> reached =
+            new PriorityQueue<>(Comparator.comparingLong((Entry e) -> e.cents).reversed());
+
+    /**
+     * A threshold together with the amount it resolves to under the current budget limit.
+     */
+    private static class Entry {
+        private final AlertThreshold threshold;
+        private long cents;
+        private boolean isReached;
+
+        private Entry(AlertThreshold threshold) {
+            this.threshold = threshold;
+        }
+    }
+
+    /**
+     * Adds a threshold as pending. A threshold that is already present is ignored.
+     *
+     * @param threshold  The threshold to add.
+     * @param limitCents The current budget limit in cents.
+     * @return true if the threshold was added.
+     */
+    boolean add(AlertThreshold threshold, long limitCents) {
+        for (Entry entry : entries) {
+            if (entry.threshold.equals(threshold)) {
+                return false;
+            }
+        }
+        Entry entry = new Entry(threshold);
+        entry.cents = threshold.resolveCents(limitCents);
+        entries.add(entry);
+        if (entry.cents > 0) {
+            pending.add(entry);
+        }
+        return true;
+    }
+
+    /**
+     * Removes every threshold.
+     */
+    void clear() {
+        entries.clear();
+        pending.clear();
+        reached.clear();
+    }
+
+    /**
+     * Resolves the thresholds again after the budget limit changed. Thresholds that were reached and still are
+     * stay reached; all others become pending, so the next {@link #update(long)} reports any that the new limit
+     * brought within the current spending.
+     *
+     * @param limitCents The new budget limit in cents.
+     * @param spentCents The current spending in cents.
+     */
+    void resolve(long limitCents, long spentCents) {
+        pending.clear();
+        reached.clear();
+        for (Entry entry : entries) {
+            entry.cents = entry.threshold.resolveCents(limitCents);
+            if (entry.cents <= 0) {
+                entry.isReached = false;
+            } else if (entry.isReached && entry.cents <= spentCents) {
+                reached.add(entry);
+            } else {
+                entry.isReached = false;
+                pending.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Makes every reached threshold pending again, for a new budget period whose spending has not been reported.
+     */
+    void rearm() {
+        for (Entry entry : reached) {
+            entry.isReached = false;
+            pending.add(entry);
+        }
+        reached.clear();
+    }
+
+    /**
+     * Moves thresholds between pending and reached to match the current spending.
+     *
+     * @param spentCents The current spending in cents.
+     * @return The thresholds newly reached, lowest first.
+     */
+    List<AlertThreshold> update(long spentCents) {
+        List<AlertThreshold> newlyReached = new ArrayList<>();
+        while (!pending.isEmpty() && pending.peek().cents <= spentCents) {
+            Entry entry = pending.poll();
+            entry.isReached = true;
+            reached.add(entry);
+            newlyReached.add(entry.threshold);
+        }
+        while (!reached.isEmpty() && reached.peek().cents > spentCents) {
+            Entry entry = reached.poll();
+            entry.isReached = false;
+            pending.add(entry);
+        }
+        return newlyReached.isEmpty() ? Collections.emptyList() : newlyReached;
+    }
+
+    /**
+     * Gets every threshold, in the order they were added.
+     *
+     * @return The thresholds.
+     */
+    public List<AlertThreshold> getThresholds() {
+        List<AlertThreshold> thresholds = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            thresholds.add(entry.threshold);
+        }
+        return thresholds;
+    }
+
+    /**
+     * Checks whether a threshold has been reached by the spending seen in the last update.
+     *
+     * @param threshold The threshold.
+     * @return true if it has been reached.
+     */
+    public boolean isReached(AlertThreshold threshold) {
+        for (Entry entry : entries) {
+            if (entry.threshold.equals(threshold)) {
+                return entry.isReached;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+}
@@ -3,16 +3,43 @@ package budgetbuddy.model;
 import budgetbuddy.exception.InvalidInputException;
 import budgetbuddy.ui.Ui;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Represents a Budget that tracks expenses within a specific category.
- * The budget can have an optional spending limit.
+ * The budget can have an optional spending limit, which applies to all spending or, if the budget has a
+ * {@link BudgetPeriod}, to the spending of the current day, week or month.
+ * The total of its expenses is kept up to date as expenses are added, removed or edited,
+ * so reading it does not require summing the whole list.
+ * Expenses are kept in time order as they are added, so listing them never needs a sort and a list position
+ * always refers to the same expense. They are also indexed by their id, so membership checks do not scan the list.
+ * A trigram index over descriptions is built the first time the budget is searched and kept up to date afterwards.
+ * A columnar copy of the expenses for the binary snapshot is built on demand, see {@link ExpenseColumns}.
+ * Daily and monthly totals are kept up to date alongside the overall total, see {@link SpendingRollup}.
+ * Amounts are kept in cents, see {@link Money}.
  */
 public class Budget {
     private String category;
-    private double limit; //Optional
+    private long limitCents; //Optional
+    private BudgetPeriod period;
     private final ArrayList<Expense> expenses;
+    private final HashMap<Long, Expense> expensesById;
+    private long totalCents;
+    private final SpendingRollup rollup;
+    private ExpenseSearchIndex searchIndex; // Built on the first search
+    private ExpenseColumns columns; // Built on demand, dropped when the expenses change
+    private final AlertThresholds alertThresholds;
+    private SpendLevel limitLevel; // Last level reported by checkLimit
+    private LocalDate reportedPeriodStart; // Period the limit level and reached thresholds belong to
 
     /**
      * Constructs a Budget object with the given category and spending limit.
@@ -29,9 +56,16 @@ public class Budget {
             throw new IllegalArgumentException("Limit cannot be negative.");
         }
 
-        this.category = category;
-        this.limit = limit;
+        this.category = StringPool.intern(category);
+        this.limitCents = Money.toCents(limit);
         this.expenses = new ArrayList<>();
+        this.expensesById = new HashMap<>();
+        this.totalCents = 0;
+        this.rollup = new SpendingRollup();
+        this.period = BudgetPeriod.NONE;
+        this.alertThresholds = new AlertThresholds();
+        this.limitLevel = SpendLevel.BELOW;
+        this.reportedPeriodStart = LocalDate.MIN;
     }
 
     /**
@@ -43,7 +77,7 @@ public class Budget {
         if (category == null || category.trim().isEmpty()) {
             throw new IllegalArgumentException("Category cannot be empty.");
         }
-        this.category = category;
+        this.category = StringPool.intern(category);
     }
 
     /**
@@ -61,16 +95,404 @@ public class Budget {
      * @param expense The expense to add to this budget.
      */
     public void addExpense(Expense expense) {
-        expenses.add(expense);
+        if (expensesById.putIfAbsent(expense.getId(), expense) != null) {
+            return;
+        }
+        insertInOrder(expense);
+        expense.addOwner(this);
+        if (searchIndex != null) {
+            searchIndex.add(expense);
+        }
+        totalCents += expense.amountCents;
+    }
+
+    /**
+     * Adds many expenses to this budget at once. They are appended in one pass; if any of them is earlier than
+     * an expense before it, the list is put back in time order with one stable sort at the end instead of an
+     * insertion per expense, and the total is updated once. Expenses already in this budget are skipped.
+     *
+     * @param batch The expenses to add.
+     * @return The number of expenses added.
+     */
+    public int addExpenses(Collection<Expense> batch) {
+        expenses.ensureCapacity(expenses.size() + batch.size());
+        LocalDateTime latest = expenses.isEmpty() ? null : expenses.get(expenses.size() - 1).getDateTime();
+        boolean isInOrder = true;
+        long addedCents = 0;
+        int added = 0;
+        for (Expense expense : batch) {
+            if (expensesById.putIfAbsent(expense.getId(), expense) != null) {
+                continue;
+            }
+            LocalDateTime dateTime = expense.getDateTime();
+            if (latest != null && latest.isAfter(dateTime)) {
+                isInOrder = false;
+            } else {
+                latest = dateTime;
+            }
+            expenses.add(expense);
+            rollup.add(dateTime, expense.amountCents);
+            expense.addOwner(this);
+            if (searchIndex != null) {
+                searchIndex.add(expense);
+            }
+            addedCents += expense.amountCents;
+            added++;
+        }
+        if (!isInOrder) {
+            expenses.sort(Comparator.comparing(Expense::getDateTime));
+        }
+        totalCents += addedCents;
+        return added;
+    }
+
+    /**
+     * Removes an expense from this budget, if it is in it.
+     *
+     * @param expense The expense to remove.
+     * @return true if the expense was in this budget.
+     */
+    public boolean removeExpense(Expense expense) {
+        if (expensesById.remove(expense.getId()) == null) {
+            return false;
+        }
+        removeFromOrder(expense);
+        expense.removeOwner(this);
+        if (searchIndex != null) {
+            searchIndex.remove(expense);
+        }
+        totalCents -= expense.amountCents;
+        return true;
+    }
+
+    /**
+     * Replaces an expense in this budget with another one, keeping the list in time order.
+     *
+     * @param oldExpense The expense currently in this budget.
+     * @param newExpense The expense to put in its place.
+     */
+    public void replaceExpense(Expense oldExpense, Expense newExpense) {
+        if (expensesById.remove(oldExpense.getId()) == null) {
+            return;
+        }
+        expensesById.put(newExpense.getId(), newExpense);
+        removeFromOrder(oldExpense);
+        insertInOrder(newExpense);
+        if (searchIndex != null) {
+            searchIndex.remove(oldExpense);
+            searchIndex.add(newExpense);
+        }
+        oldExpense.removeOwner(this);
+        newExpense.addOwner(this);
+        totalCents += newExpense.amountCents - oldExpense.amountCents;
+    }
+
+    /**
+     * Finds an expense of this budget by its id.
+     *
+     * @param id The id of the expense.
+     * @return The expense, or null if this budget does not hold it.
+     */
+    public Expense getExpenseById(long id) {
+        return expensesById.get(id);
+    }
+
+    /**
+     * Gets a columnar copy of this budget's expenses, building it if the expenses changed since the last call.
+     *
+     * @return The expense columns, in the same order as {@link #getExpenses()}.
+     */
+    public ExpenseColumns getColumns() {
+        if (columns == null) {
+            columns = new ExpenseColumns(this, expenses);
+        }
+        return columns;
+    }
+
+    /**
+     * Drops the columnar copy of the expenses, which no longer matches them.
+     */
+    void invalidateColumns() {
+        columns = null;
+    }
+
+    /**
+     * Finds the expenses whose descriptions contain every keyword of the query, ignoring case.
+     * If every keyword is shorter than three characters, the index cannot help and all descriptions are checked.
+     *
+     * @param query The keywords to search for, separated by spaces.
+     * @return The positions of the matching expenses in the expense list, in ascending order.
+     */
+    public List<Integer> findExpensePositions(String query) {
+        if (searchIndex == null) {
+            searchIndex = new ExpenseSearchIndex();
+            for (Expense e : expenses) {
+                searchIndex.add(e);
+            }
+        }
+
+        String[] keywords = ExpenseSearchIndex.splitQuery(query);
+        List<Integer> positions = new ArrayList<>();
+        Set<Expense> matches = searchIndex.search(keywords);
+        if (matches == null) {
+            for (int i = 0; i < expenses.size(); i++) {
+                if (ExpenseSearchIndex.containsAll(expenses.get(i).getDescription(), keywords)) {
+                    positions.add(i);
+                }
+            }
+            return positions;
+        }
+        for (Expense e : matches) {
+            positions.add(indexOf(e));
+        }
+        positions.sort(null);
+        return positions;
+    }
+
+    /**
+     * Takes an expense out of the search index before its description changes.
+     *
+     * @param expense The expense about to change.
+     */
+    void unindexDescription(Expense expense) {
+        if (searchIndex != null) {
+            searchIndex.remove(expense);
+        }
+    }
+
+    /**
+     * Puts an expense back into the search index after its description changed.
+     *
+     * @param expense The expense that changed.
+     */
+    void indexDescription(Expense expense) {
+        if (searchIndex != null) {
+            searchIndex.add(expense);
+        }
+    }
+
+    /**
+     * Finds the position of the first expense recorded in or after the minute of the given date and time.
+     * Like the displayed date and time, the comparison ignores seconds.
+     *
+     * @param dateTime The start of the range.
+     * @return The position of the first such expense, or the number of expenses if there is none.
+     */
+    public int findFirstExpenseFrom(LocalDateTime dateTime) {
+        return findFirstExpense(dateTime.truncatedTo(ChronoUnit.MINUTES), false);
+    }
+
+    /**
+     * Finds the position of the first expense recorded after the minute of the given date and time.
+     * Like the displayed date and time, the comparison ignores seconds.
+     *
+     * @param dateTime The end of the range.
+     * @return The position of the first such expense, or the number of expenses if there is none.
+     */
+    public int findFirstExpenseAfter(LocalDateTime dateTime) {
+        return findFirstExpense(dateTime.truncatedTo(ChronoUnit.MINUTES), true);
+    }
+
+    private int findFirstExpense(LocalDateTime minute, boolean isAfter) {
+        int low = 0;
+        int high = expenses.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            LocalDateTime midMinute = expenses.get(mid).getDateTime().truncatedTo(ChronoUnit.MINUTES);
+            if (midMinute.isBefore(minute) || (isAfter && midMinute.isEqual(minute))) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Inserts an expense into the list after every expense that is not later than it, and counts it in the
+     * daily and monthly totals. Expenses are usually added in time order, in which case this is a plain append.
+     *
+     * @param expense The expense to insert.
+     */
+    void insertInOrder(Expense expense) {
+        LocalDateTime dateTime = expense.getDateTime();
+        rollup.add(dateTime, expense.amountCents);
+        int size = expenses.size();
+        if (size == 0 || !expenses.get(size - 1).getDateTime().isAfter(dateTime)) {
+            expenses.add(expense);
+            return;
+        }
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (expenses.get(mid).getDateTime().isAfter(dateTime)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        expenses.add(low, expense);
+    }
+
+    /**
+     * Removes an expense from the list, finding it by a binary search on its date and time,
+     * and takes it out of the daily and monthly totals.
+     * The expense must not have changed its date and time since it was inserted.
+     *
+     * @param expense The expense to remove.
+     */
+    void removeFromOrder(Expense expense) {
+        int index = indexOf(expense);
+        if (index >= 0) {
+            expenses.remove(index);
+            rollup.add(expense.getDateTime(), -expense.amountCents);
+        }
+    }
+
+    /**
+     * Finds the position of an expense in the list by a binary search on its date and time.
+     *
+     * @param expense The expense to find.
+     * @return The position of the expense, or -1 if it is not in the list.
+     */
+    private int indexOf(Expense expense) {
+        LocalDateTime dateTime = expense.getDateTime();
+        int low = 0;
+        int high = expenses.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (expenses.get(mid).getDateTime().isBefore(dateTime)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < expenses.size() && expenses.get(i).getDateTime().isEqual(dateTime); i++) {
+            if (expenses.get(i) == expense) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     /**
-     * Calculates the total amount of all expenses in this budget.
+     * Gets the total amount of all expenses in this budget.
      *
      * @return The total expenses for the budget.
      */
     public double getTotalExpenses() {
-        return expenses.stream().mapToDouble(e -> e.amount).sum();
+        return Money.toDollars(totalCents);
+    }
+
+    /**
+     * Gets the total amount of all expenses in this budget in cents.
+     *
+     * @return The total expenses for the budget in cents.
+     */
+    public long getTotalCents() {
+        return totalCents;
+    }
+
+    /**
+     * Gets the amount spent in the current period of this budget, or in total if it has no period.
+     * The current period is found from the daily, weekly and monthly totals, so this does not depend on
+     * how many expenses the budget has.
+     *
+     * @return The amount spent in the current period, in cents.
+     */
+    public long getPeriodSpentCents() {
+        LocalDate today = LocalDate.now();
+        switch (period) {
+        case DAILY:
+            return rollup.getDayCents(today);
+        case WEEKLY:
+            return rollup.getWeekCents(today);
+        case MONTHLY:
+            return rollup.getMonthCents(YearMonth.from(today));
+        default:
+            return totalCents;
+        }
+    }
+
+    /**
+     * Gets the first day of the current period of this budget.
+     *
+     * @return The first day of the current day, week or month, or {@link LocalDate#MIN} if it has no period.
+     */
+    public LocalDate getPeriodStart() {
+        return period.startOf(LocalDate.now());
+    }
+
+    /**
+     * Gets the amount spent in the current period of this budget, or in total if it has no period.
+     *
+     * @return The amount spent in the current period.
+     */
+    public double getPeriodSpent() {
+        return Money.toDollars(getPeriodSpentCents());
+    }
+
+    /**
+     * Sets the period the spending limit applies to.
+     *
+     * @param period The new period, {@link BudgetPeriod#NONE} to limit all spending.
+     */
+    public void setPeriod(BudgetPeriod period) {
+        if (period == null) {
+            throw new IllegalArgumentException("Budget period cannot be empty.");
+        }
+        this.period = period;
+    }
+
+    /**
+     * Gets the period the spending limit applies to.
+     *
+     * @return The budget period.
+     */
+    public BudgetPeriod getPeriod() {
+        return period;
+    }
+
+    /**
+     * Gets the daily and monthly spending totals of this budget.
+     *
+     * @return The spending rollup.
+     */
+    public SpendingRollup getRollup() {
+        return rollup;
+    }
+
+    /**
+     * Gets the amount spent in a month.
+     *
+     * @param month The month.
+     * @return The amount spent in that month.
+     */
+    public double getSpentInMonth(YearMonth month) {
+        return Money.toDollars(rollup.getMonthCents(month));
+    }
+
+    /**
+     * Gets the amount spent from one day to another, both included.
+     *
+     * @param from The first day.
+     * @param to   The last day.
+     * @return The amount spent in those days.
+     */
+    public double getSpentBetween(LocalDate from, LocalDate to) {
+        return Money.toDollars(rollup.getDaysCents(from, to));
+    }
+
+    /**
+     * Updates the running totals before the amount of one of this budget's expenses changes.
+     *
+     * @param expense  The expense, still holding its previous amount.
+     * @param newCents The new amount of the expense in cents.
+     */
+    void updateExpenseAmount(Expense expense, long newCents) {
+        totalCents += newCents - expense.amountCents;
+        rollup.add(expense.getDateTime(), newCents - expense.amountCents);
     }
 
     /**
@@ -82,8 +504,9 @@ public class Budget {
         if (amount < 0) {
             throw new IllegalArgumentException("Budget limit cannot be negative.");
         }
-        this.limit = amount;
-
+        this.limitCents = Money.toCents(amount);
+        this.limitLevel = SpendLevel.BELOW;
+        alertThresholds.resolve(limitCents, getPeriodSpentCents());
     }
 
     /**
@@ -92,7 +515,81 @@ public class Budget {
      * @return The current spending limit for this budget.
      */
     public double getLimit() {
-        return this.limit;
+        return Money.toDollars(limitCents);
+    }
+
+    /**
+     * Gets the spending limit of this budget in cents.
+     *
+     * @return The current spending limit for this budget in cents.
+     */
+    public long getLimitCents() {
+        return limitCents;
+    }
+
+    /**
+     * Adds an alert threshold to this budget. Adding a threshold that is already set has no effect.
+     *
+     * @param threshold The threshold to add.
+     * @return true if the threshold was added.
+     */
+    public boolean addAlertThreshold(AlertThreshold threshold) {
+        return alertThresholds.add(threshold, limitCents);
+    }
+
+    /**
+     * Removes every alert threshold of this budget.
+     */
+    public void clearAlertThresholds() {
+        alertThresholds.clear();
+    }
+
+    public AlertThresholds getAlertThresholds() {
+        return alertThresholds;
+    }
+
+    /**
+     * Brings the alert thresholds up to date with the spending of the current period, without printing anything.
+     *
+     * @return The thresholds newly reached, lowest first.
+     */
+    public List<AlertThreshold> updateAlertThresholds() {
+        startReportedPeriod();
+        return alertThresholds.update(getPeriodSpentCents());
+    }
+
+    /**
+     * Forgets the crossings reported in an earlier period once a new period has started, so that spending
+     * already over the limit or a threshold in the new period is reported again.
+     */
+    private void startReportedPeriod() {
+        LocalDate periodStart = getPeriodStart();
+        if (periodStart.equals(reportedPeriodStart)) {
+            return;
+        }
+        reportedPeriodStart = periodStart;
+        limitLevel = SpendLevel.BELOW;
+        alertThresholds.rearm();
+    }
+
+    /**
+     * Records the current spending as already reported against the limit and alert thresholds, without printing
+     * anything. This is used after loading saved data, whose crossings were reported in an earlier session.
+     */
+    public void markAlertsSeen() {
+        startReportedPeriod();
+        limitLevel = SpendLevel.of(getPeriodSpentCents(), limitCents);
+        updateAlertThresholds();
+    }
+
+    /**
+     * Prints a notice for each alert threshold that the spending of the current period has newly reached.
+     * Thresholds the spending has fallen below again are re-armed.
+     */
+    public void checkAlertThresholds() {
+        for (AlertThreshold threshold : updateAlertThresholds()) {
+            Ui.printAlertThresholdReached(category, threshold.toString(), getPeriodSpent());
+        }
     }
 
     /**
@@ -117,7 +614,7 @@ public class Budget {
             Ui.printNoExpense();
 
         }else {
-            Ui.printExpensesList(expenses, start, end);
+            Ui.printExpensesList(this, start, end);
         }
     }
 
@@ -130,44 +627,41 @@ public class Budget {
         if (index < 1 || index > expenses.size()) {
             throw new InvalidInputException("Invalid index. Please provide a valid expense number.");
         }
-        expenses.remove(expenses.size() - index);
+        removeExpense(expenses.get(expenses.size() - index));
     }
 
+    /**
+     * Gets the expenses of this budget in time order, oldest first.
+     * The list must not be modified directly; use the methods of this class instead.
+     *
+     * @return The expenses of this budget.
+     */
     public ArrayList<Expense> getExpenses() {
         return expenses;
     }
 
     /**
-     * Calculates the remaining budget by subtracting total expenses from the budget limit.
+     * Calculates the remaining budget by subtracting the expenses of the current period from the budget limit.
      *
      * @return The remaining budget amount as a double
      * @throws IllegalStateException if no budget has been set (limit = 0)
      */
     public double getRemainingBudget() throws IllegalStateException, ArithmeticException {
         // Check if budget is set
-        if (limit <= 0) {
+        if (limitCents <= 0) {
             return 0.0;
         }
 
-        double totalExpenses = getTotalExpenses();
-        double remaining = limit - totalExpenses;
-
-        if (remaining < 0) {
-            remaining = 0.0;
-        }
-
-        // Check for arithmetic overflow
-        if (Double.isInfinite(remaining)) {
-            throw new ArithmeticException("Budget calculation overflow - amounts too large");
-        }
-
-        return remaining;
+        // Math.subtractExact throws ArithmeticException on overflow
+        long remaining = Math.max(0, Math.subtractExact(limitCents, getPeriodSpentCents()));
+        return Money.toDollars(remaining);
     }
 
     /**
      * Checks whether the total expenses for this budget category have reached or exceeded the set limit.
      * <p>
-     * If a limit is set (non-zero), this method compares the total expenses against the limit:
+     * If a limit is set (non-zero), this method compares the total expenses of the current period, or of all time
+     * if the budget has no period, against the limit:
      * <ul>
      *     <li>If the total expenses exceed the limit, a warning message is printed via
      *     {@code Ui.printBudgetExceeded}.</li>
@@ -175,15 +669,22 @@ public class Budget {
      *     {@code Ui.printBudgetReached}.</li>
      *     <li>If the limit is zero, no check or output is performed.</li>
      * </ul>
+     * Each warning is printed once per crossing: nothing is printed again until the spending has dropped
+     * below the limit, the limit has been changed, or a new period has started.
      */
     public void checkLimit() {
-        double totalExpenses = this.getTotalExpenses();
-        if (this.limit != 0) {
-            if (totalExpenses > limit) {
-                Ui.printBudgetExceeded(totalExpenses, limit, category);
-            } else if (totalExpenses == limit) {
-                Ui.printBudgetReached(totalExpenses, limit, category);
-            }
+        startReportedPeriod();
+        long spentCents = getPeriodSpentCents();
+        SpendLevel level = SpendLevel.of(spentCents, limitCents);
+        boolean isRaised = level.isAbove(limitLevel);
+        limitLevel = level;
+        if (!isRaised) {
+            return;
+        }
+        if (level == SpendLevel.EXCEEDED) {
+            Ui.printBudgetExceeded(Money.toDollars(spentCents), getLimit(), category);
+        } else {
+            Ui.printBudgetReached(Money.toDollars(spentCents), getLimit(), category);
         }
     }
 }
@@ -0,0 +1,128 @@
+package budgetbuddy.model;
+
+import java.util.Collection;
+
+/**
+ * Receives a notification every time {@link BudgetManager} successfully changes its state.
+ * <p>
+ * This is how the storage layer learns about each mutation without the model depending on it.
+ * All methods default to doing nothing, so a listener only overrides the changes it cares about.
+ * </p>
+ */
+public interface BudgetChangeListener {
+
+    /**
+     * Called after an expense has been added.
+     *
+     * @param category The category budget the expense was also added to, or empty if it only went to Overall.
+     * @param expense  The expense that was added.
+     */
+    default void expenseAdded(String category, Expense expense) {
+    }
+
+    /**
+     * Called after a batch of expenses has been added to the same budgets. By default this is the same as
+     * calling {@link #expenseAdded(String, Expense)} for each expense.
+     *
+     * @param category The category budget the expenses were also added to, or empty if they only went to Overall.
+     * @param expenses The expenses that were added.
+     */
+    default void expensesAdded(String category, Collection<Expense> expenses) {
+        for (Expense expense : expenses) {
+            expenseAdded(category, expense);
+        }
+    }
+
+    /**
+     * Called after an expense has been removed from every budget holding it.
+     *
+     * @param expense The expense that was deleted.
+     */
+    default void expenseDeleted(Expense expense) {
+    }
+
+    /**
+     * Called after an expense has been edited in place.
+     *
+     * @param expense The edited expense.
+     */
+    default void expenseEdited(Expense expense) {
+    }
+
+    /**
+     * Called after the limit of a budget has been set, creating the budget if needed.
+     *
+     * @param category The budget category, "Overall" for the overall budget.
+     * @param limit    The new spending limit.
+     */
+    default void budgetLimitSet(String category, double limit) {
+    }
+
+    /**
+     * Called after the period of a budget has been set.
+     *
+     * @param category The budget category, "Overall" for the overall budget.
+     * @param period   The new budget period.
+     */
+    default void budgetPeriodSet(String category, BudgetPeriod period) {
+    }
+
+    /**
+     * Called after an alert threshold has been added to a budget.
+     *
+     * @param category  The budget category, "Overall" for the overall budget.
+     * @param threshold The threshold added.
+     */
+    default void alertThresholdAdded(String category, AlertThreshold threshold) {
+    }
+
+    /**
+     * Called after every alert threshold of a budget has been removed.
+     *
+     * @param category The budget category, "Overall" for the overall budget.
+     */
+    default void alertThresholdsCleared(String category) {
+    }
+
+    /**
+     * Called after a recurring expense rule has been added.
+     *
+     * @param rule The rule added.
+     */
+    default void recurringRuleAdded(RecurringRule rule) {
+    }
+
+    /**
+     * Called after occurrences of a recurring rule came due and became expenses.
+     *
+     * @param rule           The rule, with its updated number of occurrences produced.
+     * @param firstExpenseId The id of the first new expense; the others have the ids that follow it.
+     */
+    default void recurringExpensesDue(RecurringRule rule, long firstExpenseId) {
+    }
+
+    /**
+     * Called after a recurring expense rule has been removed.
+     *
+     * @param rule The rule removed.
+     */
+    default void recurringRuleDeleted(RecurringRule rule) {
+    }
+
+    /**
+     * Called after a budget category has been renamed.
+     *
+     * @param oldName The previous category name.
+     * @param newName The new category name.
+     */
+    default void budgetRenamed(String oldName, String newName) {
+    }
+
+    /**
+     * Called after the budget alert has been set, edited or removed.
+     *
+     * @param amount The alert threshold, 0 if the alert is no longer active.
+     */
+    default void alertSet(double amount) {
+    }
+}
@@ -3,10 +3,16 @@ package budgetbuddy.model;
 import budgetbuddy.exception.InvalidInputException;
 import budgetbuddy.ui.Ui;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.logging.Logger;
 
 /**
@@ -14,9 +20,14 @@ import java.util.logging.Logger;
  * It allows tracking expenses and setting alerts when expenses exceed a threshold.
  */
 public class BudgetManager {
+    /** The most occurrences a new recurring expense may already have had, as each becomes an expense at once. */
+    public static final int MAX_PAST_OCCURRENCES = 1000;
     private static final Logger logger = Logger.getLogger(BudgetManager.class.getName());
     private final HashMap<String, Budget> budgets;
     private final Alert alert;
+    private BudgetChangeListener changeListener;
+    private final List<RecurringRule> recurringRules;
+    private long nextRuleId;
 
     /**
      * Constructs a BudgetManager with an initial "Overall" budget.
@@ -25,7 +36,10 @@ public class BudgetManager {
     public BudgetManager() {
         this.budgets = new HashMap<>();
         this.alert = new Alert(); // Initialise alert system
+        this.recurringRules = new ArrayList<>();
+        this.nextRuleId = 1;
         budgets.put("Overall", new Budget("Overall", 0));
+        this.changeListener = new BudgetChangeListener() {};
         logger.info("BudgetManager initialized with Overall budget.");
 
         assert budgets != null : "Budgets HashMap should be initialized.";
@@ -70,6 +84,7 @@ public class BudgetManager {
                 }
                 logger.info("Expense Added: " + expense);
             }
+            changeListener.expenseAdded(addedToCategory ? category : "", expense);
 
             // Call UI with all relevant information
             Ui.printAddExpense(expense, category, addedToCategory, message);
@@ -86,6 +101,248 @@ public class BudgetManager {
         }
     }
 
+    /**
+     * Adds many expenses at once, grouped by category, without printing anything for each of them.
+     * <p>
+     * Every expense goes into the Overall budget and, if its category has a budget, into that budget too;
+     * expenses of unknown categories are only added to Overall. Each budget receives its expenses in one
+     * {@link Budget#addExpenses(Collection)} call, and the alert, limits and alert thresholds are checked once
+     * at the end, so only warnings for the batch as a whole are printed.
+     * </p>
+     *
+     * @param expensesByCategory The expenses to add, keyed by category; an empty key or "Overall" means none.
+     * @return The number of expenses added.
+     */
+    public int addExpenses(Map<String, ? extends Collection<Expense>> expensesByCategory) {
+        Budget overallBudget = budgets.computeIfAbsent("Overall", name -> new Budget(name, 0));
+        List<Expense> all = new ArrayList<>();
+        for (Collection<Expense> expenses : expensesByCategory.values()) {
+            all.addAll(expenses);
+        }
+        int added = overallBudget.addExpenses(all);
+
+        Set<String> categories = new LinkedHashSet<>();
+        for (Map.Entry<String, ? extends Collection<Expense>> entry : expensesByCategory.entrySet()) {
+            String category = (entry.getKey() == null) ? "" : entry.getKey().trim();
+            Budget categoryBudget = budgets.get(category);
+            boolean hasCategory = categoryBudget != null && categoryBudget != overallBudget;
+            if (hasCategory) {
+                categoryBudget.addExpenses(entry.getValue());
+                categories.add(category);
+            } else if (!category.isEmpty() && !category.equals("Overall")) {
+                logger.warning("Budget category '" + category + "' not found. Added to Overall Budget.");
+            }
+            changeListener.expensesAdded(hasCategory ? category : "", entry.getValue());
+        }
+
+        if (added > 0) {
+            checkBudgetAlert();
+            checkBudgetLimit("Overall");
+            for (String category : categories) {
+                checkBudgetLimit(category);
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Adds a recurring expense as a single rule. Occurrences that are already due become expenses right away;
+     * later ones are added by {@link #expandRecurringExpenses()} as they come due.
+     *
+     * @param category    The budget category (e.g., "Food"), or empty for "Overall".
+     * @param amount      The amount of each expense.
+     * @param description A brief description of the expense.
+     * @param start       The date and time of the first occurrence.
+     * @param recurrence  How often the expense repeats.
+     * @param count       The number of occurrences, or 0 for no limit.
+     * @param until       The last date and time an occurrence may fall on, or null for no end date.
+     * @return The rule added.
+     * @throws InvalidInputException If more than {@link #MAX_PAST_OCCURRENCES} occurrences are already due.
+     */
+    public RecurringRule addRecurringExpense(String category, double amount, String description, LocalDateTime start,
+            Recurrence recurrence, int count, LocalDateTime until) throws InvalidInputException {
+        String name = (category == null || category.trim().equals("Overall")) ? "" : category.trim();
+        RecurringRule rule = new RecurringRule(nextRuleId, name, Money.toCents(amount), description, start,
+                recurrence, count, until);
+        if (rule.countUpTo(LocalDateTime.now()) > MAX_PAST_OCCURRENCES) {
+            throw new InvalidInputException("A recurring expense can have at most " + MAX_PAST_OCCURRENCES
+                    + " occurrences up to now. Use a later start date, fewer iterations or an end date.");
+        }
+        nextRuleId++;
+        recurringRules.add(rule);
+        changeListener.recurringRuleAdded(rule);
+        expandRecurringExpenses();
+        return rule;
+    }
+
+    /**
+     * Turns every recurring occurrence that is due by now into an expense, then checks the alert and limits once.
+     *
+     * @return The number of expenses added.
+     */
+    public int expandRecurringExpenses() {
+        return expandRecurringExpenses(LocalDateTime.now());
+    }
+
+    /**
+     * Turns every recurring occurrence that is due by the given time into an expense, then checks the alert and
+     * limits once. Nothing is printed unless a warning is due.
+     *
+     * @param now The current date and time.
+     * @return The number of expenses added.
+     */
+    public int expandRecurringExpenses(LocalDateTime now) {
+        int added = 0;
+        Set<String> categories = new LinkedHashSet<>();
+        for (RecurringRule rule : recurringRules) {
+            List<LocalDateTime> due = rule.takeDue(now);
+            if (due.isEmpty()) {
+                continue;
+            }
+            long firstExpenseId = Expense.reserveIds(due.size());
+            addRecurringOccurrences(rule, due, firstExpenseId);
+            changeListener.recurringExpensesDue(rule, firstExpenseId);
+            added += due.size();
+            categories.add(rule.getCategory());
+        }
+        if (added > 0) {
+            checkBudgetAlert();
+            checkBudgetLimit("Overall");
+            for (String category : categories) {
+                checkBudgetLimit(category);
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Restores a saved recurring rule without producing any expenses or notifying the change listener.
+     *
+     * @param rule The rule, with its number of occurrences already produced.
+     */
+    public void restoreRecurringRule(RecurringRule rule) {
+        recurringRules.add(rule);
+        nextRuleId = Math.max(nextRuleId, rule.getId() + 1);
+    }
+
+    /**
+     * Produces the occurrences of a restored rule up to the given number, as recorded when they came due,
+     * without printing anything or notifying the change listener.
+     *
+     * @param ruleId         The id of the rule.
+     * @param generatedCount The number of occurrences the rule had produced.
+     * @param firstExpenseId The id the first new expense had.
+     */
+    public void restoreRecurringExpenses(long ruleId, int generatedCount, long firstExpenseId) {
+        RecurringRule rule = getRecurringRuleById(ruleId);
+        if (rule != null) {
+            addRecurringOccurrences(rule, rule.takeUpTo(generatedCount), firstExpenseId);
+        }
+    }
+
+    private void addRecurringOccurrences(RecurringRule rule, List<LocalDateTime> occurrences, long firstId) {
+        Budget overallBudget = budgets.computeIfAbsent("Overall", name -> new Budget(name, 0));
+        Budget categoryBudget = rule.getCategory().isEmpty() ? null : budgets.get(rule.getCategory());
+        for (int i = 0; i < occurrences.size(); i++) {
+            Expense expense = Expense.withId(firstId + i, rule.getAmountCents(), rule.getDescription(),
+                    occurrences.get(i));
+            overallBudget.addExpense(expense);
+            if (categoryBudget != null && categoryBudget != overallBudget) {
+                categoryBudget.addExpense(expense);
+            }
+        }
+    }
+
+    /**
+     * Removes a recurring rule, so that no more of its occurrences become expenses.
+     * Expenses it already produced are kept.
+     *
+     * @param index The number of the rule in {@link #getRecurringRules()}, starting from 1.
+     * @throws InvalidInputException If the index is invalid.
+     */
+    public void deleteRecurringRule(int index) throws InvalidInputException {
+        if (index < 1 || index > recurringRules.size()) {
+            throw new InvalidInputException("Invalid index. Please provide a valid recurring expense number.");
+        }
+        RecurringRule rule = recurringRules.remove(index - 1);
+        changeListener.recurringRuleDeleted(rule);
+        Ui.printDeleteRecurringRule(rule);
+    }
+
+    /**
+     * Removes a recurring rule by id without printing anything or notifying the change listener.
+     *
+     * @param ruleId The id of the rule.
+     */
+    public void removeRecurringRule(long ruleId) {
+        recurringRules.removeIf(rule -> rule.getId() == ruleId);
+    }
+
+    /**
+     * Finds a recurring rule by id.
+     *
+     * @param ruleId The id of the rule.
+     * @return The rule, or null if there is no such rule.
+     */
+    public RecurringRule getRecurringRuleById(long ruleId) {
+        for (RecurringRule rule : recurringRules) {
+            if (rule.getId() == ruleId) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    public List<RecurringRule> getRecurringRules() {
+        return recurringRules;
+    }
+
+    /**
+     * Works out how much every recurring rule spends between two times, both included, counting occurrences
+     * arithmetically rather than producing them. Occurrences that already became expenses are counted too.
+     *
+     * @param from The start of the window.
+     * @param to   The end of the window.
+     * @return The total in cents.
+     */
+    public long getRecurringCentsBetween(LocalDateTime from, LocalDateTime to) {
+        long total = 0;
+        for (RecurringRule rule : recurringRules) {
+            total = Math.addExact(total, rule.getCentsBetween(from, to));
+        }
+        return total;
+    }
+
+    /**
+     * Updates the recurring rules of a budget category that has been renamed.
+     *
+     * @param oldName The old category name.
+     * @param newName The new category name.
+     */
+    public void renameRecurringCategory(String oldName, String newName) {
+        for (RecurringRule rule : recurringRules) {
+            if (rule.getCategory().equals(oldName)) {
+                rule.setCategory(newName);
+            }
+        }
+    }
+
+    /**
+     * Records the current spending as already reported against the alert, limits and alert thresholds of every
+     * budget, without printing anything. Used after loading saved data, so that the next change only reports
+     * new crossings.
+     */
+    public void markAlertsSeen() {
+        Budget overallBudget = budgets.get("Overall");
+        if (overallBudget == null) {
+            alert.markSeen(0, LocalDate.MIN);
+        } else {
+            alert.markSeen(overallBudget.getPeriodSpentCents(), overallBudget.getPeriodStart());
+        }
+        for (Budget budget : budgets.values()) {
+            budget.markAlertsSeen();
+        }
+    }
 
     /**
      * Sets a budget alert at the specified amount.
@@ -96,15 +353,73 @@ public class BudgetManager {
     public void setBudgetAlert(double amount) {
         assert amount >= 0 : "Error: Budget amount should not be negative.";
         alert.setAlert(amount);
+        changeListener.alertSet(alert.isActive() ? alert.getAlertAmount() : 0);
+        checkBudgetAlert();
+    }
+
+    /**
+     * Edits the amount of the current budget alert.
+     * A negative amount leaves the alert unchanged, and 0 disables it.
+     *
+     * @param amount The new alert threshold.
+     */
+    public void editBudgetAlert(double amount) {
+        alert.editAlertAmount(amount);
+        changeListener.alertSet(alert.isActive() ? alert.getAlertAmount() : 0);
         checkBudgetAlert();
     }
 
+    /**
+     * Adds an alert threshold to a budget, or to the Overall budget if no category is given.
+     *
+     * @param category  The budget category (e.g., "Food"), or empty for "Overall".
+     * @param threshold The threshold to add.
+     */
+    public void addAlertThreshold(String category, AlertThreshold threshold) {
+        String name = (category == null || category.trim().isEmpty()) ? "Overall" : category.trim();
+        Budget budget = budgets.get(name);
+        if (budget == null) {
+            Ui.printBudgetNotFound(name);
+            return;
+        }
+        if (!budget.addAlertThreshold(threshold)) {
+            Ui.printAlertThresholdExists(name, threshold.toString());
+            return;
+        }
+        changeListener.alertThresholdAdded(name, threshold);
+        Ui.printAddAlertThreshold(name, threshold.toString(), threshold.resolveCents(budget.getLimitCents()) > 0);
+        budget.checkAlertThresholds();
+    }
+
+    /**
+     * Removes every alert threshold of a budget, or of the Overall budget if no category is given.
+     *
+     * @param category The budget category (e.g., "Food"), or empty for "Overall".
+     */
+    public void clearAlertThresholds(String category) {
+        String name = (category == null || category.trim().isEmpty()) ? "Overall" : category.trim();
+        Budget budget = budgets.get(name);
+        if (budget == null) {
+            Ui.printBudgetNotFound(name);
+            return;
+        }
+        budget.clearAlertThresholds();
+        changeListener.alertThresholdsCleared(name);
+        Ui.printClearAlertThresholds(name);
+    }
+
     /**
      * Checks if total expenses exceed the alert limit.
+     * If the Overall budget has a period, only the expenses of the current period count.
      */
     public void checkBudgetAlert() {
-        double totalExpenses = getTotalExpenses();
-        alert.checkAlert(totalExpenses); // Alert system will notify if limit is exceeded
+        Budget overallBudget = budgets.get("Overall");
+        if (overallBudget == null) {
+            alert.checkAlert(0, LocalDate.MIN);
+            return;
+        }
+        // Alert system will notify if limit is exceeded
+        alert.checkAlert(overallBudget.getPeriodSpentCents(), overallBudget.getPeriodStart());
     }
 
     /**
@@ -116,6 +431,15 @@ public class BudgetManager {
         return this.budgets;
     }
 
+    /**
+     * Registers the listener notified after every successful change to the budgets, expenses or alert.
+     *
+     * @param changeListener The listener to notify, or null to stop notifying.
+     */
+    public void setChangeListener(BudgetChangeListener changeListener) {
+        this.changeListener = (changeListener != null) ? changeListener : new BudgetChangeListener() {};
+    }
+
     /**
      * Sets the budget for a given category or the "Overall" budget if no category is specified.
      * Creates a new budget if the category does not exist, otherwise updates its limit.
@@ -124,6 +448,18 @@ public class BudgetManager {
      * @param amount   The budget limit to set.
      */
     public void setBudget(String category, double amount) {
+        setBudget(category, amount, null);
+    }
+
+    /**
+     * Sets the budget and its period for a given category or the "Overall" budget if no category is specified.
+     * Creates a new budget if the category does not exist, otherwise updates its limit and period.
+     *
+     * @param category The budget category (e.g., "Food"), or empty for "Overall".
+     * @param amount   The budget limit to set.
+     * @param period   The period the limit applies to, or null to keep the current one.
+     */
+    public void setBudget(String category, double amount, BudgetPeriod period) {
         try {
             if (Objects.equals(category, "")) {
                 if (budgets.containsKey("Overall")) {
@@ -131,6 +467,8 @@ public class BudgetManager {
                 } else {
                     budgets.put("Overall", new Budget("Overall", amount));
                 }
+                changeListener.budgetLimitSet("Overall", amount);
+                setBudgetPeriod("Overall", period);
                 Ui.printSetOverallBudget(amount);
                 checkBudgetAlert();
                 checkBudgetLimit("Overall");
@@ -142,6 +480,8 @@ public class BudgetManager {
                     budgets.get(category).setLimit(amount);
                     logger.info("Updated budget for category " + category + " to: $" + amount);
                 }
+                changeListener.budgetLimitSet(category, amount);
+                setBudgetPeriod(category, period);
                 Ui.printSetCategoryBudget(category, amount);
                 checkBudgetLimit(category);
             }
@@ -150,6 +490,18 @@ public class BudgetManager {
         }
     }
 
+    private void setBudgetPeriod(String category, BudgetPeriod period) {
+        Budget budget = budgets.get(category);
+        if (period == null || budget.getPeriod() == period) {
+            return;
+        }
+        budget.setPeriod(period);
+        changeListener.budgetPeriodSet(category, period);
+        if (period != BudgetPeriod.NONE) {
+            Ui.printSetBudgetPeriod(category, period.getLabel());
+        }
+    }
+
     /**
      * Checks if a specific category exists in the budget manager.
      *
@@ -192,7 +544,8 @@ public class BudgetManager {
 
     /**
      * Deletes an expense from the Overall Budget based on the index.
-     * Also deletes the same expense from the corresponding category budget.
+     * Also deletes the same expense from the corresponding category budget, found through the expense itself
+     * rather than by searching every budget.
      *
      * @param index The index of the expense to delete.
      * @throws InvalidInputException if the index is invalid.
@@ -211,26 +564,22 @@ public class BudgetManager {
         Expense expenseToDelete = expenses.get(overallBudget.getExpenses().size() - index);
         Ui.printDeleteExpense(expenses, index);
 
-        overallBudget.deleteExpense(index);
+        overallBudget.removeExpense(expenseToDelete);
         logger.info("Expense at index " + index + " deleted from Overall Budget.");
 
-        for (Map.Entry<String, Budget> entry : budgets.entrySet()) {
-            String category = entry.getKey();
-            Budget categoryBudget = entry.getValue();
-
-            if (category.equals("Overall")) {
-                continue;
-            }
+        List<Budget> categoryBudgets = new ArrayList<>(expenseToDelete.getOwners());
+        for (Budget categoryBudget : categoryBudgets) {
+            categoryBudget.removeExpense(expenseToDelete);
+            Ui.printDeleteExpenseCategory(categoryBudget.getCategory());
+            logger.info("Expense deleted from category '" + categoryBudget.getCategory() + "'.");
+        }
+        changeListener.expenseDeleted(expenseToDelete);
 
-            for (int i = 0; i < categoryBudget.getExpenses().size(); i++) {
-                Expense categoryExpense = categoryBudget.getExpenses().get(i);
-                if (categoryExpense.equals(expenseToDelete)) {
-                    categoryBudget.getExpenses().remove(i);
-                    Ui.printDeleteExpenseCategory(category);
-                    logger.info("Expense deleted from category '" + category + "'.");
-                    break;
-                }
-            }
+        // Spending only went down, so these print nothing but re-arm warnings the spending has dropped below
+        checkBudgetAlert();
+        checkBudgetLimit("Overall");
+        for (Budget categoryBudget : categoryBudgets) {
+            checkBudgetLimit(categoryBudget.getCategory());
         }
     }
 
@@ -270,28 +619,25 @@ public class BudgetManager {
         }
 
         Expense expenseToEdit = overallBudget.getExpenses().get(overallBudget.getExpenses().size() - index);
-        String category = "";
-        for (Map.Entry<String, Budget> entry : budgets.entrySet()) {
-            category = entry.getKey();
-            Budget categoryBudget = entry.getValue();
-
-            if (category.equals("Overall")) {
-                continue;
-            }
-
-            for (int i = 0; i < categoryBudget.getExpenses().size(); i++) {
-                Expense categoryExpense = categoryBudget.getExpenses().get(i);
-                if (categoryExpense.equals(expenseToEdit)) {
-                    break;
-                }
-            }
-        }
-
         expenseToEdit.editExpense(amount, description, dateTime);
-        Ui.printExpenseEditedMessage(overallBudget.getExpenses(), index);
+        changeListener.expenseEdited(expenseToEdit);
+        Ui.printExpenseEditedMessage(expenseToEdit, index);
         checkBudgetAlert();
-        checkBudgetLimit("Overall");
-        checkBudgetLimit(category);
+        for (Budget owner : expenseToEdit.getOwners()) {
+            owner.checkLimit();
+            owner.checkAlertThresholds();
+        }
+    }
+
+    /**
+     * Finds an expense by its stable id.
+     *
+     * @param id The id of the expense.
+     * @return The expense, or null if there is no such expense.
+     */
+    public Expense getExpenseById(long id) {
+        Budget overallBudget = budgets.get("Overall");
+        return (overallBudget != null) ? overallBudget.getExpenseById(id) : null;
     }
 
     /**
@@ -306,10 +652,10 @@ public class BudgetManager {
             Budget overallBudget = budgets.get("Overall");
             assert overallBudget != null : "Error: 'Overall' budget should always exist.";
 
-            double totalBudget = overallBudget.getLimit();
-            double spent = overallBudget.getTotalExpenses();
-            double remaining = Math.max(0, totalBudget - spent);
-            Ui.printCheckBudget("", totalBudget, spent, remaining);
+            long remaining = Math.max(0, overallBudget.getLimitCents() - overallBudget.getPeriodSpentCents());
+            Ui.printCheckBudget("", overallBudget.getPeriod().getLabel(), overallBudget.getLimit(),
+                    overallBudget.getPeriodSpent(), Money.toDollars(remaining));
+            printAlertThresholds(overallBudget);
         } else {
             if (!budgets.containsKey(category)) {
                 Ui.printBudgetNotFound(category);
@@ -319,11 +665,24 @@ public class BudgetManager {
             assert budgets.get(category) != null : "Category budget should exist when checking.";
 
             Budget categoryBudget = budgets.get(category);
-            double totalBudget = categoryBudget.getLimit();
-            double spent = categoryBudget.getTotalExpenses();
-            double remaining = Math.max(0, totalBudget - spent);
-            Ui.printCheckBudget(category, totalBudget, spent, remaining);
+            long remaining = Math.max(0, categoryBudget.getLimitCents() - categoryBudget.getPeriodSpentCents());
+            Ui.printCheckBudget(category, categoryBudget.getPeriod().getLabel(), categoryBudget.getLimit(),
+                    categoryBudget.getPeriodSpent(), Money.toDollars(remaining));
+            printAlertThresholds(categoryBudget);
+        }
+    }
+
+    private void printAlertThresholds(Budget budget) {
+        budget.updateAlertThresholds();
+        AlertThresholds thresholds = budget.getAlertThresholds();
+        if (thresholds.isEmpty()) {
+            return;
+        }
+        List<String> labels = new ArrayList<>();
+        for (AlertThreshold threshold : thresholds.getThresholds()) {
+            labels.add(threshold + (thresholds.isReached(threshold) ? " (reached)" : ""));
         }
+        Ui.printAlertThresholds(labels);
     }
 
     public Alert getBudgetAlert() {
@@ -331,27 +690,23 @@ public class BudgetManager {
     }
 
     /**
-     * Finds and displays expenses from the Overall budget that match the given keyword.
+     * Finds and displays expenses from the Overall budget that match the given keywords.
+     * An expense matches if its description contains each keyword, ignoring case.
      *
-     * @param keyword The keyword to search for in expense descriptions.
+     * @param keyword The keywords to search for in expense descriptions, separated by spaces.
      */
     public void findExpense(String keyword) {
         assert keyword != null && !keyword.trim().isEmpty() : "Error: Keyword should not be null or empty.";
 
         Budget overallBudget = budgets.get("Overall");
-        boolean found = false;
-
+        List<Integer> positions = overallBudget.findExpensePositions(keyword);
 
         Ui.printSearchHeader(keyword);
-        for (int i = 0; i < overallBudget.getExpenses().size(); i++) {
-            Expense expense = overallBudget.getExpenses().get(i);
-            if (expense.getDescription().toLowerCase().contains(keyword.toLowerCase())) {
-                Ui.printMatchingExpense(i + 1, expense);
-                found = true;
-            }
+        for (int position : positions) {
+            Ui.printMatchingExpense(position + 1, overallBudget.getExpenses().get(position));
         }
 
-        if (!found) {
+        if (positions.isEmpty()) {
             Ui.printNoMatchesFound(keyword);
             return;
         }
@@ -381,6 +736,7 @@ public class BudgetManager {
         // Update the budget limit if specified
         if (newAmount >= 0) {
             budgetToEdit.setLimit(newAmount);
+            changeListener.budgetLimitSet(currentName, newAmount);
             Ui.printUpdateBudgetLimit(currentName, newAmount);
             checkBudgetLimit(currentName);
         }
@@ -390,6 +746,8 @@ public class BudgetManager {
             budgets.remove(currentName);
             budgetToEdit.setCategory(newName);
             budgets.put(newName, budgetToEdit);
+            renameRecurringCategory(currentName, newName);
+            changeListener.budgetRenamed(currentName, newName);
             Ui.printRenamedBudget(currentName, newName);
         }
 
@@ -404,6 +762,7 @@ public class BudgetManager {
      */
     public void removeBudgetAlert() {
         alert.removeAlert();
+        changeListener.alertSet(0);
         logger.info("Budget alert removed.");
     }
 
@@ -411,8 +770,8 @@ public class BudgetManager {
      * Checks whether the budget for a specified category has reached or exceeded its limit.
      * <p>
      * If the provided category is not empty and exists in the {@code budgets} map,
-     * this method calls {@code checkLimit()} on the corresponding {@code Budget} instance
-     * to trigger any necessary alerts or warnings.
+     * this method calls {@code checkLimit()} and {@code checkAlertThresholds()} on the corresponding
+     * {@code Budget} instance to trigger any necessary alerts or warnings.
      *
      * @param category the name of the budget category to check
      */
@@ -425,5 +784,6 @@ public class BudgetManager {
             return;
         }
         budget.checkLimit();
+        budget.checkAlertThresholds();
     }
 }
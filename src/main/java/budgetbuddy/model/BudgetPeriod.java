@@ -0,0 +1,77 @@
+package budgetbuddy.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * The period a budget limit applies to. A budget without a period limits all spending ever recorded,
+ * while the others limit spending within the current day, week (starting on Monday) or month.
+ */
+public enum BudgetPeriod {
+    NONE("None"),
+    DAILY("Daily"),
+    WEEKLY("Weekly"),
+    MONTHLY("Monthly");
+
+    private final String label;
+
+    BudgetPeriod(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Parses a period name, ignoring case.
+     *
+     * @param name The period name, such as "monthly".
+     * @return The matching period.
+     * @throws IllegalArgumentException If the name is not a known period.
+     */
+    public static BudgetPeriod fromString(String name) {
+        for (BudgetPeriod period : values()) {
+            if (period.name().equalsIgnoreCase(name.trim())) {
+                return period;
+            }
+        }
+        throw new IllegalArgumentException("Unknown budget period: " + name
+                + ". Use daily, weekly, monthly or none.");
+    }
+
+    /**
+     * Gets the first day of the week containing the given day.
+     *
+     * @param day The day.
+     * @return The Monday on or before the day.
+     */
+    public static LocalDate weekStart(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    /**
+     * Gets the first day of the period containing the given day.
+     *
+     * @param day The day.
+     * @return The first day of its day, week or month, or {@link LocalDate#MIN} for {@link #NONE}.
+     */
+    public LocalDate startOf(LocalDate day) {
+        switch (this) {
+        case DAILY:
+            return day;
+        case WEEKLY:
+            return weekStart(day);
+        case MONTHLY:
+            return day.withDayOfMonth(1);
+        default:
+            return LocalDate.MIN;
+        }
+    }
+
+    /**
+     * Gets the name shown to the user, such as "Monthly".
+     *
+     * @return The display name.
+     */
+    public String getLabel() {
+        return label;
+    }
+}
@@ -3,6 +3,10 @@ package budgetbuddy.model;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 /**
@@ -13,18 +17,31 @@ import java.time.format.DateTimeFormatter;
  * It offers multiple constructors, including one that accepts a date and time as a string.
  * If the string is in the correct format, that value is used; otherwise, the current system date and time is used.
  * </p>
+ * <p>
+ * Every expense gets an id when it is created, which stays the same however the expense is edited or where it
+ * moves in a list. The id is saved with the expense and given back when it is loaded, so saved changes can refer
+ * to the expense by id in later runs too. It also knows the budgets holding it, so it can be removed or updated
+ * without searching them.
+ * </p>
  */
 public class Expense {
     // Formatter to display date and time.
     protected static final DateTimeFormatter DATETIME_FORMAT =
             DateTimeFormatter.ofPattern("MMM dd yyyy 'at' HH:mm");
+    // Source of expense ids, always above every id created or loaded so far.
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+
+    // The stable id of this expense.
+    private long id = NEXT_ID.getAndIncrement();
 
     // The date and time when the expense was recorded.
     public LocalDateTime dateTime;
     // A textual description of the expense.
     protected String description;
-    // The monetary amount of the expense.
-    protected double amount;
+    // The monetary amount of the expense, in cents.
+    protected long amountCents;
+    // The budgets holding this expense, whose running totals follow changes to the amount.
+    private final List<Budget> owners = new ArrayList<>(2);
 
     /**
      * Creates a new Expense with a specified amount and description.
@@ -46,8 +63,8 @@ public class Expense {
             throw new IllegalArgumentException("Amount cannot be negative.");
         }
         // Initialize instance variables.
-        this.description = description;
-        this.amount = amount;
+        this.description = StringPool.intern(description);
+        this.amountCents = Money.toCents(amount);
         // Set dateTime to the system's current date and time.
         this.dateTime = LocalDateTime.now();
         assert dateTime != null : "DateTime cannot be null.";
@@ -75,8 +92,8 @@ public class Expense {
             throw new IllegalArgumentException("Amount cannot be negative.");
         }
         // Initialize fields.
-        this.description = description;
-        this.amount = amount;
+        this.description = StringPool.intern(description);
+        this.amountCents = Money.toCents(amount);
 
         if (dateTimeString == "") {
             this.dateTime = LocalDateTime.now();
@@ -106,8 +123,8 @@ public class Expense {
             throw new IllegalArgumentException("Amount cannot be negative.");
         }
         // Initialize fields.
-        this.description = description;
-        this.amount = amount;
+        this.description = StringPool.intern(description);
+        this.amountCents = Money.toCents(amount);
         // Use the DateTimeUtil to parse the provided string.
         this.dateTime = budgetbuddy.parser.DateTimeParser.parseOrDefault(dateTimeString, noErrorPrint);
         //when noErrorPrint is true then we don't print error messages
@@ -138,11 +155,60 @@ public class Expense {
             throw new IllegalArgumentException("DateTime cannot be null.");
         }
         // Initialize instance variables.
-        this.description = description;
-        this.amount = amount;
+        this.description = StringPool.intern(description);
+        this.amountCents = Money.toCents(amount);
         this.dateTime = (LocalDateTime) dateTime;
     }
 
+    /**
+     * Creates a new Expense from an amount already in cents and a parsed LocalDateTime value.
+     * <p>
+     * This is used when loading saved data, where amounts are stored in cents.
+     * </p>
+     *
+     * @param amountCents The amount spent, in cents. Must be non-negative.
+     * @param description The description of the expense. Cannot be null.
+     * @param dateTime    The date and time of the expense. Cannot be null.
+     * @return The new expense.
+     * @throws IllegalArgumentException If the description or dateTime is null, or the amount is negative.
+     */
+    public static Expense fromCents(long amountCents, String description, LocalDateTime dateTime) {
+        if (amountCents < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative.");
+        }
+        Expense expense = new Expense(0, description, dateTime);
+        expense.amountCents = amountCents;
+        return expense;
+    }
+
+    /**
+     * Creates an expense with a given id, either one saved in an earlier run or one from {@link #reserveIds(int)}.
+     * Expenses created later get larger ids.
+     *
+     * @param id          The id of the expense.
+     * @param amountCents The amount spent, in cents. Must be non-negative.
+     * @param description The description of the expense. Cannot be null.
+     * @param dateTime    The date and time of the expense. Cannot be null.
+     * @return The new expense.
+     * @throws IllegalArgumentException If the description or dateTime is null, or the amount is negative.
+     */
+    public static Expense withId(long id, long amountCents, String description, LocalDateTime dateTime) {
+        Expense expense = fromCents(amountCents, description, dateTime);
+        expense.id = id;
+        NEXT_ID.accumulateAndGet(id + 1, Math::max);
+        return expense;
+    }
+
+    /**
+     * Reserves a block of consecutive ids, for expenses that are saved together by the id of the first one.
+     *
+     * @param count The number of ids to reserve.
+     * @return The first id of the block.
+     */
+    public static long reserveIds(int count) {
+        return NEXT_ID.getAndAdd(count);
+    }
+
     /**
      * Returns a string representation of the expense, including the amount and timestamp.
      * <p>
@@ -156,7 +222,7 @@ public class Expense {
         // Format the dateTime using the specified formatter.
         String formattedDateTime = dateTime.format(DATETIME_FORMAT);
         // Format the amount as currency.
-        String formattedAmount = String.format("$%,.2f", amount);
+        String formattedAmount = String.format("$%,.2f", getAmount());
         // Build and return the full string representation.
         return formattedAmount + " spent on " + description + " (" + formattedDateTime + ")";
     }
@@ -181,18 +247,36 @@ public class Expense {
      */
     public void editExpense(String amountStr, String description, String dateTime){
         if (!amountStr.isEmpty()) {
-            double amount = Double.parseDouble(amountStr);
-            if (amount <= 0)  {
+            long amountCents = Money.parseCents(amountStr);
+            if (amountCents <= 0)  {
                 throw new IllegalArgumentException ("Amount cannot be zero or negative");
             }
-            this.amount = amount;
+            for (Budget owner : owners) {
+                owner.updateExpenseAmount(this, amountCents);
+            }
+            this.amountCents = amountCents;
         }
         if (!description.isEmpty()) {
-            this.description = description;
+            for (Budget owner : owners) {
+                owner.unindexDescription(this);
+            }
+            this.description = StringPool.intern(description);
+            for (Budget owner : owners) {
+                owner.indexDescription(this);
+            }
         }
         if (!dateTime.isEmpty()) {
-            this.dateTime = budgetbuddy.parser.DateTimeParser.parseOrDefault(dateTime, false);
+            LocalDateTime newDateTime = budgetbuddy.parser.DateTimeParser.parseOrDefault(dateTime, false);
+            // Take the expense out of its budgets' time order before the date changes, then put it back
+            for (Budget owner : owners) {
+                owner.removeFromOrder(this);
+            }
+            this.dateTime = newDateTime;
+            for (Budget owner : owners) {
+                owner.insertInOrder(this);
+            }
         }
+        invalidateOwnerColumns();
     }
 
     /**
@@ -201,7 +285,16 @@ public class Expense {
      * @return The expense amount.
      */
     public double getAmount() {
-        return amount;
+        return Money.toDollars(amountCents);
+    }
+
+    /**
+     * Retrieves the monetary amount of the expense in cents.
+     *
+     * @return The expense amount in cents.
+     */
+    public long getAmountCents() {
+        return amountCents;
     }
 
     /**
@@ -224,4 +317,39 @@ public class Expense {
     public LocalDateTime getDateTime() {
         return dateTime;
     }
+
+    /**
+     * Retrieves the stable id of the expense.
+     *
+     * @return The expense id.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Retrieves the budgets holding this expense, such as Overall and its category budget.
+     *
+     * @return A read-only view of the budgets holding this expense.
+     */
+    public List<Budget> getOwners() {
+        return Collections.unmodifiableList(owners);
+    }
+
+    void addOwner(Budget budget) {
+        owners.add(budget);
+        invalidateOwnerColumns();
+    }
+
+    void removeOwner(Budget budget) {
+        invalidateOwnerColumns();
+        owners.remove(budget);
+    }
+
+    // Every budget holding this expense has it in its columns, with the others as its category
+    private void invalidateOwnerColumns() {
+        for (Budget owner : owners) {
+            owner.invalidateColumns();
+        }
+    }
 }
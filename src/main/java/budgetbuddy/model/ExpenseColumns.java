@@ -0,0 +1,131 @@
+package budgetbuddy.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented copy of a budget's expenses, which the binary snapshot writes out as it is.
+ * <p>
+ * Each column is a primitive array indexed by row, in the same time order as the budget's expense list:
+ * amounts in cents, times in minutes since the epoch, ids into a table of distinct descriptions and ids into a
+ * table of the other budgets holding each expense.
+ * </p>
+ * <p>
+ * The columns are a snapshot: {@link Budget#getColumns()} builds them on demand and drops them whenever the
+ * budget's expenses change. Category names are looked up through the budgets themselves, so renaming a budget
+ * does not make the columns stale.
+ * </p>
+ */
+public class ExpenseColumns {
+    /** Category id of an expense not held by any other budget. */
+    public static final int NO_CATEGORY = -1;
+
+    private final int size;
+    private final long[] amountCents;
+    private final long[] epochMinutes;
+    private final int[] descriptionIds;
+    private final int[] categoryIds;
+    private final List<String> descriptions;
+    private final List<Budget> categories;
+
+    /**
+     * Builds the columns for the expenses of a budget.
+     *
+     * @param owner    The budget the expenses belong to; it is not reported as their category.
+     * @param expenses The expenses of the budget, in time order.
+     */
+    ExpenseColumns(Budget owner, List<Expense> expenses) {
+        size = expenses.size();
+        amountCents = new long[size];
+        epochMinutes = new long[size];
+        descriptionIds = new int[size];
+        categoryIds = new int[size];
+        descriptions = new ArrayList<>();
+        categories = new ArrayList<>();
+
+        Map<String, Integer> descriptionLookup = new HashMap<>();
+        Map<Budget, Integer> categoryLookup = new IdentityHashMap<>();
+        for (int row = 0; row < size; row++) {
+            Expense e = expenses.get(row);
+            amountCents[row] = e.getAmountCents();
+            epochMinutes[row] = toEpochMinute(e.getDateTime());
+            descriptionIds[row] = descriptionLookup.computeIfAbsent(e.getDescription(), description -> {
+                descriptions.add(description);
+                return descriptions.size() - 1;
+            });
+            categoryIds[row] = NO_CATEGORY;
+            for (Budget category : e.getOwners()) {
+                if (category != owner) {
+                    categoryIds[row] = categoryLookup.computeIfAbsent(category, budget -> {
+                        categories.add(budget);
+                        return categories.size() - 1;
+                    });
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts a date and time to whole minutes since the epoch, ignoring seconds.
+     *
+     * @param dateTime The date and time.
+     * @return The minutes since 1970-01-01T00:00.
+     */
+    public static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    /**
+     * Converts minutes since the epoch back to a date and time.
+     *
+     * @param epochMinute The minutes since 1970-01-01T00:00.
+     * @return The date and time.
+     */
+    public static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getAmountCents(int row) {
+        return amountCents[row];
+    }
+
+    public long getEpochMinute(int row) {
+        return epochMinutes[row];
+    }
+
+    public int getDescriptionId(int row) {
+        return descriptionIds[row];
+    }
+
+    /**
+     * Returns the distinct descriptions, indexed by description id.
+     *
+     * @return The description table.
+     */
+    public List<String> getDescriptions() {
+        return descriptions;
+    }
+
+    public int getCategoryId(int row) {
+        return categoryIds[row];
+    }
+
+    /**
+     * Returns the other budgets holding the expenses, indexed by category id.
+     *
+     * @return The category table.
+     */
+    public List<Budget> getCategories() {
+        return categories;
+    }
+}
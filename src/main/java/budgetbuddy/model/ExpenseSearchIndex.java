@@ -0,0 +1,125 @@
+package budgetbuddy.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Trigram index over expense descriptions, used to find the expenses whose descriptions contain given keywords.
+ * <p>
+ * Every run of three characters in a lowercased description is a trigram, and the index maps each trigram to the
+ * expenses using it. A keyword can only occur in descriptions that contain all of its trigrams, so intersecting
+ * those few sets narrows the search to a handful of candidates, which are then checked with {@code contains}.
+ * A query of several keywords, separated by spaces, matches the expenses containing all of them.
+ * Keywords shorter than three characters have no trigrams and are only checked on the candidates of the others.
+ * </p>
+ */
+public class ExpenseSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    // Trigrams are packed into a long, 16 bits per character
+    private final HashMap<Long, Set<Expense>> expensesByTrigram = new HashMap<>();
+
+    /**
+     * Splits a query into lowercase keywords separated by whitespace.
+     *
+     * @param query The query to split.
+     * @return The keywords.
+     */
+    public static String[] splitQuery(String query) {
+        String trimmed = query.trim().toLowerCase();
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("\\s+");
+    }
+
+    /**
+     * Checks whether a description contains every keyword, ignoring case.
+     *
+     * @param description The description to check.
+     * @param keywords    The lowercase keywords.
+     * @return true if every keyword occurs in the description.
+     */
+    public static boolean containsAll(String description, String[] keywords) {
+        String lowerCaseDescription = description.toLowerCase();
+        for (String keyword : keywords) {
+            if (!lowerCaseDescription.contains(keyword)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds an expense under every trigram of its description.
+     *
+     * @param expense The expense to add.
+     */
+    public void add(Expense expense) {
+        for (long trigram : trigrams(expense.getDescription().toLowerCase())) {
+            expensesByTrigram.computeIfAbsent(trigram, key -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                    .add(expense);
+        }
+    }
+
+    /**
+     * Removes an expense from under every trigram of its current description.
+     *
+     * @param expense The expense to remove.
+     */
+    public void remove(Expense expense) {
+        for (long trigram : trigrams(expense.getDescription().toLowerCase())) {
+            Set<Expense> expenses = expensesByTrigram.get(trigram);
+            if (expenses != null && expenses.remove(expense) && expenses.isEmpty()) {
+                expensesByTrigram.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Finds the expenses whose descriptions contain every keyword, ignoring case.
+     *
+     * @param keywords The lowercase keywords, as returned by {@link #splitQuery(String)}.
+     * @return The matching expenses in no particular order, or null if no keyword is long enough to use the index.
+     */
+    public Set<Expense> search(String[] keywords) {
+        List<Set<Expense>> postings = new ArrayList<>();
+        for (String keyword : keywords) {
+            for (long trigram : trigrams(keyword)) {
+                Set<Expense> expenses = expensesByTrigram.get(trigram);
+                if (expenses == null) {
+                    return Collections.emptySet();
+                }
+                postings.add(expenses);
+            }
+        }
+        if (postings.isEmpty()) {
+            return null;
+        }
+
+        // Start from the rarest trigram so the candidate set is as small as possible
+        postings.sort(Comparator.comparingInt(Set::size));
+        Set<Expense> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Expense candidate : postings.get(0)) {
+            boolean isCandidate = true;
+            for (int i = 1; i < postings.size() && isCandidate; i++) {
+                isCandidate = postings.get(i).contains(candidate);
+            }
+            if (isCandidate && containsAll(candidate.getDescription(), keywords)) {
+                matches.add(candidate);
+            }
+        }
+        return matches;
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return trigrams;
+    }
+}
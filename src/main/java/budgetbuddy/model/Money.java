@@ -0,0 +1,89 @@
+package budgetbuddy.model;
+
+/**
+ * Helpers for money amounts, which the model keeps as a whole number of cents in a {@code long}.
+ * <p>
+ * Cents add up exactly, so totals never drift and limit or alert comparisons can safely test for equality.
+ * Dollar amounts given as {@code double} are only used at the edges, for user input and display.
+ * </p>
+ */
+public class Money {
+    private static final int CENTS_PER_DOLLAR = 100;
+
+    /**
+     * Converts a dollar amount to cents, rounding to the nearest cent.
+     *
+     * @param dollars The amount in dollars.
+     * @return The amount in cents.
+     */
+    public static long toCents(double dollars) {
+        return Math.round(dollars * CENTS_PER_DOLLAR);
+    }
+
+    /**
+     * Converts an amount in cents to dollars.
+     *
+     * @param cents The amount in cents.
+     * @return The amount in dollars.
+     */
+    public static double toDollars(long cents) {
+        return (double) cents / CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * Parses a decimal dollar amount such as {@code "12.5"} or {@code "-3.05"} straight into cents.
+     * Plain decimals with at most two fraction digits are parsed exactly, digit by digit; anything else that
+     * {@link Double#parseDouble(String)} accepts is parsed as a double and rounded to the nearest cent.
+     *
+     * @param text The amount to parse.
+     * @return The amount in cents.
+     * @throws NumberFormatException If the text is not a number.
+     */
+    public static long parseCents(String text) {
+        String trimmed = text.trim();
+        int length = trimmed.length();
+        int i = 0;
+        boolean isNegative = false;
+        if (i < length && (trimmed.charAt(i) == '-' || trimmed.charAt(i) == '+')) {
+            isNegative = trimmed.charAt(i) == '-';
+            i++;
+        }
+
+        long cents = 0;
+        int integerDigits = 0;
+        while (i < length && Character.isDigit(trimmed.charAt(i)) && integerDigits < 15) {
+            cents = cents * 10 + (trimmed.charAt(i) - '0');
+            integerDigits++;
+            i++;
+        }
+        cents *= CENTS_PER_DOLLAR;
+
+        int fractionDigits = 0;
+        if (i < length && trimmed.charAt(i) == '.') {
+            i++;
+            while (i < length && Character.isDigit(trimmed.charAt(i)) && fractionDigits < 2) {
+                cents += (trimmed.charAt(i) - '0') * (fractionDigits == 0 ? 10 : 1);
+                fractionDigits++;
+                i++;
+            }
+        }
+
+        if (i < length || integerDigits + fractionDigits == 0) {
+            // Not a plain decimal with at most two fraction digits
+            return toCents(Double.parseDouble(trimmed));
+        }
+        return isNegative ? -cents : cents;
+    }
+
+    /**
+     * Formats an amount in cents as a plain decimal with two fraction digits, such as {@code "12.50"}.
+     *
+     * @param cents The amount in cents.
+     * @return The formatted amount.
+     */
+    public static String toPlainString(long cents) {
+        long absolute = Math.abs(cents);
+        long fraction = absolute % CENTS_PER_DOLLAR;
+        return (cents < 0 ? "-" : "") + (absolute / CENTS_PER_DOLLAR) + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+}
@@ -0,0 +1,410 @@
+package budgetbuddy.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.TreeSet;
+
+/**
+ * How often a recurring expense repeats, written as a short rule in the style of an iCalendar RRULE, such as
+ * {@code "FREQ=DAILY;INTERVAL=7"}, {@code "FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TH"},
+ * {@code "FREQ=MONTHLY;INTERVAL=1;BYMONTHDAY=1"} or {@code "FREQ=MONTHLY;INTERVAL=1;BYDAY=-1FR"}.
+ * <p>
+ * Supported parts:
+ * <ul>
+ *     <li>{@code FREQ}: DAILY, WEEKLY, MONTHLY or YEARLY.</li>
+ *     <li>{@code INTERVAL}: the number of days, weeks, months or years between repeats, 1 if left out.</li>
+ *     <li>{@code BYDAY} with WEEKLY: the days of the week, such as {@code MO,WE,FR}.</li>
+ *     <li>{@code BYDAY} with MONTHLY: one weekday of the month, such as {@code 2TU} for the second Tuesday or
+ *     {@code -1FR} for the last Friday. Only the 1st to 4th and the last are allowed, as every month has them.</li>
+ *     <li>{@code BYMONTHDAY} with MONTHLY: a day of the month from 1 to 31, or -1 for the last day. Months that
+ *     are too short use their last day instead.</li>
+ * </ul>
+ * Without a BY part the rule repeats on the weekday, day of month or date of its start. Monthly and yearly
+ * rules go back to that day after a short month, so a rule starting on Jan 31 falls on Feb 28 and then Mar 31
+ * rather than drifting to the 28th. Occurrences keep the time of day of the start.
+ * </p>
+ * <p>
+ * Occurrences are numbered from 0, the first one on or after the start. The n-th occurrence and the number of
+ * occurrences up to a given time are both worked out arithmetically from the start, so neither has to walk
+ * through the occurrences in between, however long the rule has been running.
+ * </p>
+ */
+public class Recurrence {
+    /**
+     * The unit a recurrence repeats in.
+     */
+    public enum Frequency { DAILY, WEEKLY, MONTHLY, YEARLY }
+
+    private static final String[] WEEKDAY_CODES = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+    private static final String[] ORDINAL_NAMES = {"", "1st", "2nd", "3rd", "4th"};
+    private static final int LAST = -1;
+    private static final int DAYS_PER_WEEK = 7;
+
+    private final Frequency frequency;
+    private final int interval;
+    private final int[] weekdays; // Days of the week for WEEKLY, 0 for Monday, ascending; empty for the start's
+    private final int monthDay; // Day of the month for MONTHLY, LAST for the last day, 0 if not set
+    private final int weekdayOrdinal; // Week of the month for MONTHLY with weekday, LAST for the last, 0 if not set
+    private final DayOfWeek weekday;
+
+    private Recurrence(Frequency frequency, int interval, int[] weekdays, int monthDay, int weekdayOrdinal,
+            DayOfWeek weekday) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Recurrence interval must be at least 1.");
+        }
+        this.frequency = frequency;
+        this.interval = interval;
+        this.weekdays = weekdays;
+        this.monthDay = monthDay;
+        this.weekdayOrdinal = weekdayOrdinal;
+        this.weekday = weekday;
+    }
+
+    /**
+     * Creates a recurrence repeating every given number of days.
+     *
+     * @param days The number of days between occurrences.
+     * @return The recurrence.
+     * @throws IllegalArgumentException If the number of days is less than 1.
+     */
+    public static Recurrence everyDays(int days) {
+        return new Recurrence(Frequency.DAILY, days, new int[0], 0, 0, null);
+    }
+
+    /**
+     * Parses a recurrence written by {@link #toString()} or typed by the user. A leading {@code "RRULE:"} is
+     * ignored, and a frequency on its own, such as {@code "monthly"}, is read as {@code "FREQ=MONTHLY"}.
+     *
+     * @param rule The rule, such as {@code "FREQ=DAILY;INTERVAL=7"}.
+     * @return The recurrence.
+     * @throws IllegalArgumentException If the rule is not understood or not supported.
+     */
+    public static Recurrence parse(String rule) {
+        String text = rule.trim();
+        if (text.regionMatches(true, 0, "RRULE:", 0, 6)) {
+            text = text.substring(6);
+        }
+        if (!text.contains("=")) {
+            text = "FREQ=" + text;
+        }
+
+        Frequency frequency = null;
+        int interval = 1;
+        String byDay = null;
+        String byMonthDay = null;
+        for (String part : text.split(";")) {
+            String[] keyValue = part.split("=", 2);
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Invalid recurrence: " + rule);
+            }
+            String value = keyValue[1].trim().toUpperCase();
+            switch (keyValue[0].trim().toUpperCase()) {
+            case "FREQ":
+                frequency = parseFrequency(value, rule);
+                break;
+            case "INTERVAL":
+                interval = Integer.parseInt(value);
+                break;
+            case "BYDAY":
+                byDay = value;
+                break;
+            case "BYMONTHDAY":
+                byMonthDay = value;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported recurrence part: " + keyValue[0].trim());
+            }
+        }
+        if (frequency == null) {
+            throw new IllegalArgumentException("Invalid recurrence: " + rule);
+        }
+
+        switch (frequency) {
+        case WEEKLY:
+            if (byMonthDay != null) {
+                throw new IllegalArgumentException("BYMONTHDAY can only be used with FREQ=MONTHLY.");
+            }
+            return new Recurrence(frequency, interval, byDay == null ? new int[0] : parseWeekdays(byDay),
+                    0, 0, null);
+        case MONTHLY:
+            if (byDay != null && byMonthDay != null) {
+                throw new IllegalArgumentException("Use either BYDAY or BYMONTHDAY, not both.");
+            }
+            if (byDay != null) {
+                return parseMonthlyWeekday(interval, byDay);
+            }
+            return new Recurrence(frequency, interval, new int[0],
+                    byMonthDay == null ? 0 : parseMonthDay(byMonthDay), 0, null);
+        default:
+            if (byDay != null || byMonthDay != null) {
+                throw new IllegalArgumentException("BYDAY and BYMONTHDAY need FREQ=WEEKLY or FREQ=MONTHLY.");
+            }
+            return new Recurrence(frequency, interval, new int[0], 0, 0, null);
+        }
+    }
+
+    private static Frequency parseFrequency(String value, String rule) {
+        try {
+            return Frequency.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid recurrence: " + rule);
+        }
+    }
+
+    private static int[] parseWeekdays(String byDay) {
+        TreeSet<Integer> days = new TreeSet<>();
+        for (String code : byDay.split(",")) {
+            days.add(parseWeekday(code.trim()).getValue() - 1);
+        }
+        return days.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static Recurrence parseMonthlyWeekday(int interval, String byDay) {
+        if (byDay.length() < 3 || byDay.contains(",")) {
+            throw new IllegalArgumentException("Monthly BYDAY takes one weekday with its week, such as 2TU.");
+        }
+        int ordinal = Integer.parseInt(byDay.substring(0, byDay.length() - 2).replace("+", ""));
+        if (ordinal != LAST && (ordinal < 1 || ordinal >= ORDINAL_NAMES.length)) {
+            throw new IllegalArgumentException("The week of the month must be 1 to 4, or -1 for the last.");
+        }
+        DayOfWeek day = parseWeekday(byDay.substring(byDay.length() - 2));
+        return new Recurrence(Frequency.MONTHLY, interval, new int[0], 0, ordinal, day);
+    }
+
+    private static DayOfWeek parseWeekday(String code) {
+        for (int i = 0; i < WEEKDAY_CODES.length; i++) {
+            if (WEEKDAY_CODES[i].equals(code)) {
+                return DayOfWeek.of(i + 1);
+            }
+        }
+        throw new IllegalArgumentException("Invalid weekday: " + code);
+    }
+
+    private static int parseMonthDay(String byMonthDay) {
+        int day = Integer.parseInt(byMonthDay);
+        if (day != LAST && (day < 1 || day > 31)) {
+            throw new IllegalArgumentException("BYMONTHDAY must be 1 to 31, or -1 for the last day.");
+        }
+        return day;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Works out an occurrence directly from the start.
+     *
+     * @param start The start of the rule.
+     * @param index The number of the occurrence, 0 for the first.
+     * @return The date and time of the occurrence.
+     */
+    public LocalDateTime getOccurrence(LocalDateTime start, long index) {
+        switch (frequency) {
+        case WEEKLY:
+            int[] days = weekdaysOf(start);
+            long position = index + skippedInFirstWeek(start, days);
+            return weekStart(start).plusDays((position / days.length) * interval * DAYS_PER_WEEK
+                    + days[(int) (position % days.length)]);
+        case MONTHLY:
+            return monthlyOccurrence(start, (index + skippedInFirstMonth(start)) * interval);
+        case YEARLY:
+            return start.plusYears(index * interval);
+        default:
+            return start.plusDays(index * interval);
+        }
+    }
+
+    /**
+     * Counts the occurrences from the start up to and including the given time.
+     *
+     * @param start The start of the rule.
+     * @param to    The time to count up to.
+     * @return The number of occurrences, 0 if {@code to} is before the start.
+     */
+    public long countUpTo(LocalDateTime start, LocalDateTime to) {
+        if (to.isBefore(start)) {
+            return 0;
+        }
+        switch (frequency) {
+        case WEEKLY:
+            return countWeeklyUpTo(start, to);
+        case MONTHLY:
+            long months = ChronoUnit.MONTHS.between(YearMonth.from(start), YearMonth.from(to));
+            long monthPeriods = countPeriods(months, monthlyOccurrence(start, months - months % interval), to);
+            return Math.max(0, monthPeriods - skippedInFirstMonth(start));
+        case YEARLY:
+            long years = (long) to.getYear() - start.getYear();
+            return countPeriods(years, start.plusYears(years - years % interval), to);
+        default:
+            long days = ChronoUnit.DAYS.between(start.toLocalDate(), to.toLocalDate());
+            return countPeriods(days, start.plusDays(days - days % interval), to);
+        }
+    }
+
+    /**
+     * Counts the occurrences between two times, both included.
+     *
+     * @param start The start of the rule.
+     * @param from  The start of the window.
+     * @param to    The end of the window.
+     * @return The number of occurrences in the window, 0 if {@code from} is after {@code to}.
+     */
+    public long countBetween(LocalDateTime start, LocalDateTime from, LocalDateTime to) {
+        if (from.isAfter(to)) {
+            return 0;
+        }
+        return countUpTo(start, to) - countUpTo(start, from.minusNanos(1));
+    }
+
+    /**
+     * Counts the whole periods that have started by {@code to}, given the number of days, months or years
+     * elapsed since the start and the occurrence of the latest period that starts in the same unit as
+     * {@code to}. That occurrence only counts if it is not after {@code to}.
+     */
+    private long countPeriods(long elapsed, LocalDateTime latestOccurrence, LocalDateTime to) {
+        long periods = elapsed / interval;
+        boolean isLatestPeriodDone = elapsed % interval != 0 || !latestOccurrence.isAfter(to);
+        return periods + (isLatestPeriodDone ? 1 : 0);
+    }
+
+    private long countWeeklyUpTo(LocalDateTime start, LocalDateTime to) {
+        int[] days = weekdaysOf(start);
+        LocalDateTime firstWeek = weekStart(start);
+        long weeks = ChronoUnit.DAYS.between(firstWeek.toLocalDate(), weekStart(to).toLocalDate()) / DAYS_PER_WEEK;
+        long periods = weeks / interval;
+        long positions;
+        if (weeks % interval != 0) {
+            positions = (periods + 1) * days.length;
+        } else {
+            positions = periods * days.length;
+            LocalDateTime latestWeek = firstWeek.plusDays(periods * interval * DAYS_PER_WEEK);
+            for (int day : days) {
+                if (!latestWeek.plusDays(day).isAfter(to)) {
+                    positions++;
+                }
+            }
+        }
+        return Math.max(0, positions - skippedInFirstWeek(start, days));
+    }
+
+    private int[] weekdaysOf(LocalDateTime start) {
+        return (weekdays.length > 0) ? weekdays : new int[]{start.getDayOfWeek().getValue() - 1};
+    }
+
+    /**
+     * Gets the Monday of the week of the given time, at the same time of day.
+     */
+    private static LocalDateTime weekStart(LocalDateTime dateTime) {
+        return dateTime.minusDays(dateTime.getDayOfWeek().getValue() - 1);
+    }
+
+    /**
+     * Counts the weekdays of the first week that fall before the start, which are not occurrences.
+     */
+    private static int skippedInFirstWeek(LocalDateTime start, int[] days) {
+        int startDay = start.getDayOfWeek().getValue() - 1;
+        int skipped = 0;
+        while (skipped < days.length && days[skipped] < startDay) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    /**
+     * Returns 1 if the day of the first month falls before the start, so the first occurrence is a month later.
+     */
+    private int skippedInFirstMonth(LocalDateTime start) {
+        return monthlyOccurrence(start, 0).isBefore(start) ? 1 : 0;
+    }
+
+    /**
+     * Works out the monthly occurrence in the month a given number of months after the start's.
+     */
+    private LocalDateTime monthlyOccurrence(LocalDateTime start, long monthsAfter) {
+        YearMonth month = YearMonth.from(start).plusMonths(monthsAfter);
+        LocalDate date;
+        if (weekdayOrdinal != 0) {
+            date = month.atDay(1).with(TemporalAdjusters.dayOfWeekInMonth(weekdayOrdinal, weekday));
+        } else {
+            int day = (monthDay == LAST) ? month.lengthOfMonth() : (monthDay == 0) ? start.getDayOfMonth() : monthDay;
+            date = month.atDay(Math.min(day, month.lengthOfMonth()));
+        }
+        return date.atTime(start.toLocalTime());
+    }
+
+    /**
+     * Describes the recurrence for the user, such as "every 7 days" or "every month on the last Friday".
+     *
+     * @return The description.
+     */
+    public String describe() {
+        String unit = unitName();
+        StringBuilder text = new StringBuilder((interval == 1) ? "every " + unit
+                : "every " + interval + " " + unit + "s");
+        if (weekdays.length > 0) {
+            text.append(" on ");
+            for (int i = 0; i < weekdays.length; i++) {
+                text.append(i == 0 ? "" : ", ").append(dayName(DayOfWeek.of(weekdays[i] + 1)));
+            }
+        } else if (weekdayOrdinal != 0) {
+            text.append(" on the ").append(weekdayOrdinal == LAST ? "last" : ORDINAL_NAMES[weekdayOrdinal])
+                    .append(" ").append(dayName(weekday));
+        } else if (monthDay != 0) {
+            text.append(monthDay == LAST ? " on the last day" : " on day " + monthDay);
+        }
+        return text.toString();
+    }
+
+    private String unitName() {
+        switch (frequency) {
+        case WEEKLY:
+            return "week";
+        case MONTHLY:
+            return "month";
+        case YEARLY:
+            return "year";
+        default:
+            return "day";
+        }
+    }
+
+    private static String dayName(DayOfWeek day) {
+        String name = day.name();
+        return name.charAt(0) + name.substring(1).toLowerCase();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency.name()).append(";INTERVAL=").append(interval);
+        if (weekdays.length > 0) {
+            rule.append(";BYDAY=");
+            for (int i = 0; i < weekdays.length; i++) {
+                rule.append(i == 0 ? "" : ",").append(WEEKDAY_CODES[weekdays[i]]);
+            }
+        } else if (weekdayOrdinal != 0) {
+            rule.append(";BYDAY=").append(weekdayOrdinal).append(WEEKDAY_CODES[weekday.getValue() - 1]);
+        } else if (monthDay != 0) {
+            rule.append(";BYMONTHDAY=").append(monthDay);
+        }
+        return rule.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Recurrence && toString().equals(other.toString());
+    }
+
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+}
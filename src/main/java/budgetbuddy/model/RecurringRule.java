@@ -0,0 +1,213 @@
+package budgetbuddy.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A recurring expense, stored as a single rule instead of one expense per occurrence.
+ * <p>
+ * An occurrence only becomes an {@link Expense} once it is due, when {@link BudgetManager} brings the rules up to
+ * date; until then it exists only as part of the rule. The rule remembers how many occurrences it has produced,
+ * so each one is produced exactly once, and a rule with no count or end date can repeat forever at the cost of
+ * this one object.
+ * </p>
+ */
+public class RecurringRule {
+    private final long id;
+    private String category;
+    private final long amountCents;
+    private final String description;
+    private final LocalDateTime start;
+    private final Recurrence recurrence;
+    private final int count; // 0 for no limit
+    private final LocalDateTime until; // null for no end date
+    private int generatedCount;
+
+    /**
+     * Constructs a recurring rule.
+     *
+     * @param id          The id of the rule, unique within its BudgetManager.
+     * @param category    The category of the expenses, or empty for the Overall budget only.
+     * @param amountCents The amount of each expense in cents.
+     * @param description The description of each expense.
+     * @param start       The date and time of the first occurrence.
+     * @param recurrence  How often the expense repeats.
+     * @param count       The number of occurrences, or 0 for no limit.
+     * @param until       The last date and time an occurrence may fall on, or null for no end date.
+     */
+    public RecurringRule(long id, String category, long amountCents, String description, LocalDateTime start,
+            Recurrence recurrence, int count, LocalDateTime until) {
+        if (amountCents <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than 0.");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Iterations cannot be negative.");
+        }
+        this.id = id;
+        this.category = StringPool.intern(category == null ? "" : category);
+        this.amountCents = amountCents;
+        this.description = StringPool.intern(description);
+        this.start = start.withSecond(0).withNano(0);
+        this.recurrence = recurrence;
+        this.count = count;
+        this.until = until;
+        this.generatedCount = 0;
+    }
+
+    /**
+     * Gets an occurrence of this rule, whether or not it is due.
+     *
+     * @param index The number of the occurrence, 0 for the first.
+     * @return The date and time of the occurrence.
+     */
+    public LocalDateTime getOccurrence(int index) {
+        return recurrence.getOccurrence(start, index);
+    }
+
+    /**
+     * Checks whether the rule has an occurrence with the given number, given its count and end date.
+     *
+     * @param index The number of the occurrence, 0 for the first.
+     * @return true if the occurrence exists.
+     */
+    public boolean hasOccurrence(int index) {
+        if (index < 0 || (count > 0 && index >= count)) {
+            return false;
+        }
+        return until == null || !getOccurrence(index).isAfter(until);
+    }
+
+    /**
+     * Gets the next occurrence that has not become an expense yet.
+     *
+     * @return The date and time of the next occurrence, or null if the rule has no more occurrences.
+     */
+    public LocalDateTime getNextOccurrence() {
+        return hasOccurrence(generatedCount) ? getOccurrence(generatedCount) : null;
+    }
+
+    /**
+     * Counts the occurrences of this rule up to and including the given time, given its count and end date.
+     * The count is worked out arithmetically, without going through the occurrences.
+     *
+     * @param to The time to count up to.
+     * @return The number of occurrences.
+     */
+    public long countUpTo(LocalDateTime to) {
+        long occurrences = recurrence.countUpTo(start, to);
+        if (count > 0) {
+            occurrences = Math.min(occurrences, count);
+        }
+        if (until != null) {
+            occurrences = Math.min(occurrences, recurrence.countUpTo(start, until));
+        }
+        return occurrences;
+    }
+
+    /**
+     * Counts the occurrences of this rule between two times, both included, whether or not they have become
+     * expenses yet.
+     *
+     * @param from The start of the window.
+     * @param to   The end of the window.
+     * @return The number of occurrences in the window, 0 if {@code from} is after {@code to}.
+     */
+    public long countBetween(LocalDateTime from, LocalDateTime to) {
+        if (from.isAfter(to)) {
+            return 0;
+        }
+        return countUpTo(to) - countUpTo(from.minusNanos(1));
+    }
+
+    /**
+     * Works out how much this rule spends between two times, both included.
+     *
+     * @param from The start of the window.
+     * @param to   The end of the window.
+     * @return The total in cents.
+     */
+    public long getCentsBetween(LocalDateTime from, LocalDateTime to) {
+        return Math.multiplyExact(countBetween(from, to), amountCents);
+    }
+
+    /**
+     * Takes every occurrence due by the given time that has not become an expense yet.
+     *
+     * @param now The current date and time.
+     * @return The due occurrences, oldest first.
+     */
+    List<LocalDateTime> takeDue(LocalDateTime now) {
+        return takeUpTo((int) Math.min(Integer.MAX_VALUE, countUpTo(now)));
+    }
+
+    /**
+     * Takes the occurrences from the number produced so far up to, but not including, the given one.
+     *
+     * @param end The number of occurrences produced afterwards.
+     * @return The occurrences taken, oldest first.
+     */
+    List<LocalDateTime> takeUpTo(int end) {
+        List<LocalDateTime> taken = new ArrayList<>();
+        for (int index = generatedCount; index < end && hasOccurrence(index); index++) {
+            taken.add(getOccurrence(index));
+        }
+        generatedCount += taken.size();
+        return taken;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    void setCategory(String category) {
+        this.category = StringPool.intern(category);
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    /**
+     * Gets the number of occurrences that have become expenses.
+     *
+     * @return The number of occurrences produced.
+     */
+    public int getGeneratedCount() {
+        return generatedCount;
+    }
+
+    /**
+     * Sets the number of occurrences already produced, when restoring a saved rule whose expenses were saved
+     * separately.
+     *
+     * @param generatedCount The number of occurrences produced.
+     */
+    public void setGeneratedCount(int generatedCount) {
+        this.generatedCount = Math.max(0, generatedCount);
+    }
+}
@@ -0,0 +1,39 @@
+package budgetbuddy.model;
+
+/**
+ * Where spending stands against a limit or alert amount, used to make warnings edge-triggered.
+ * <p>
+ * A warning is printed only when spending moves up a level, so it appears once per crossing instead of after
+ * every later change. Moving down a level prints nothing but re-arms the warning, so spending that drops below
+ * the amount and rises past it again is reported again.
+ * </p>
+ */
+enum SpendLevel {
+    BELOW,
+    REACHED,
+    EXCEEDED;
+
+    /**
+     * Works out the level of the spending against an amount.
+     *
+     * @param spentCents     The spending in cents.
+     * @param thresholdCents The limit or alert amount in cents; 0 or less means none is set.
+     * @return The level, {@link #BELOW} if no amount is set.
+     */
+    static SpendLevel of(long spentCents, long thresholdCents) {
+        if (thresholdCents <= 0 || spentCents < thresholdCents) {
+            return BELOW;
+        }
+        return (spentCents == thresholdCents) ? REACHED : EXCEEDED;
+    }
+
+    /**
+     * Checks whether moving from a previous level to this one should be reported.
+     *
+     * @param previous The level before the change.
+     * @return true if this level is higher.
+     */
+    boolean isAbove(SpendLevel previous) {
+        return compareTo(previous) > 0;
+    }
+}
@@ -0,0 +1,91 @@
+package budgetbuddy.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.TreeMap;
+
+/**
+ * Running spending totals of one budget, per day, per week and per month.
+ * <p>
+ * The budget adjusts the totals whenever an expense is added, removed, or has its amount or date edited,
+ * so questions like "spent this month" or "spent in the last 7 days" add up a few buckets instead of
+ * walking every expense, and the spending of the current period of a budget is a single lookup.
+ * Weeks start on Monday. Amounts are in cents.
+ * </p>
+ */
+public class SpendingRollup {
+    private final TreeMap<LocalDate, Long> dailyCents = new TreeMap<>();
+    private final TreeMap<LocalDate, Long> weeklyCents = new TreeMap<>(); // Keyed by the Monday of each week
+    private final TreeMap<YearMonth, Long> monthlyCents = new TreeMap<>();
+
+    /**
+     * Adds an amount to the buckets of the given date and time. A negative amount takes it away again.
+     *
+     * @param dateTime The date and time of the expense.
+     * @param cents    The amount to add, in cents.
+     */
+    void add(LocalDateTime dateTime, long cents) {
+        LocalDate day = dateTime.toLocalDate();
+        addTo(dailyCents, day, cents);
+        addTo(weeklyCents, BudgetPeriod.weekStart(day), cents);
+        addTo(monthlyCents, YearMonth.from(day), cents);
+    }
+
+    /**
+     * Gets the amount spent on a day.
+     *
+     * @param day The day.
+     * @return The total in cents.
+     */
+    public long getDayCents(LocalDate day) {
+        return dailyCents.getOrDefault(day, 0L);
+    }
+
+    /**
+     * Gets the amount spent in the week, starting on Monday, that contains the given day.
+     *
+     * @param day Any day of the week.
+     * @return The total in cents.
+     */
+    public long getWeekCents(LocalDate day) {
+        return weeklyCents.getOrDefault(BudgetPeriod.weekStart(day), 0L);
+    }
+
+    /**
+     * Gets the amount spent in a month.
+     *
+     * @param month The month.
+     * @return The total in cents.
+     */
+    public long getMonthCents(YearMonth month) {
+        return monthlyCents.getOrDefault(month, 0L);
+    }
+
+    /**
+     * Gets the amount spent from one day to another, both included.
+     *
+     * @param from The first day.
+     * @param to   The last day.
+     * @return The total in cents, or 0 if {@code from} is after {@code to}.
+     */
+    public long getDaysCents(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return 0;
+        }
+        long total = 0;
+        for (long cents : dailyCents.subMap(from, true, to, true).values()) {
+            total += cents;
+        }
+        return total;
+    }
+
+    private static <K> void addTo(TreeMap<K, Long> buckets, K key, long cents) {
+        long total = buckets.getOrDefault(key, 0L) + cents;
+        if (total == 0) {
+            buckets.remove(key);
+        } else {
+            buckets.put(key, total);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package budgetbuddy.model;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Shared pool of description and category strings.
+ * <p>
+ * Expense histories repeat the same few descriptions, such as "Lunch" or "Rent", many times over, and every
+ * loaded line would otherwise hold its own copy. Passing strings through the pool makes equal strings share one
+ * instance, so each distinct text is stored once and comparing two pooled strings succeeds on the identity check
+ * that {@link String#equals(Object)} does first.
+ * </p>
+ * <p>
+ * The pool only holds its strings weakly, so a text drops out once no expense, budget or rule uses it any more,
+ * and deleted or imported-then-removed descriptions do not stay in memory for the rest of the session. The pool
+ * is split into independently locked stripes, so the parallel snapshot loader rarely waits on another thread.
+ * </p>
+ */
+public class StringPool {
+    private static final int STRIPE_COUNT = 16; // A power of two, so a stripe can be picked by masking the hash
+    private static final List<Map<String, WeakReference<String>>> STRIPES = createStripes();
+
+    private static List<Map<String, WeakReference<String>>> createStripes() {
+        List<Map<String, WeakReference<String>>> stripes = new ArrayList<>(STRIPE_COUNT);
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes.add(new WeakHashMap<>());
+        }
+        return List.copyOf(stripes);
+    }
+
+    /**
+     * Returns the pooled instance equal to the given string, adding it to the pool if it is new.
+     *
+     * @param text The string to pool, or null.
+     * @return The pooled string, or null if the given string is null.
+     */
+    public static String intern(String text) {
+        if (text == null) {
+            return null;
+        }
+        int hash = text.hashCode();
+        Map<String, WeakReference<String>> stripe = STRIPES.get((hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1));
+        synchronized (stripe) {
+            WeakReference<String> reference = stripe.get(text);
+            String pooled = (reference != null) ? reference.get() : null;
+            if (pooled != null) {
+                return pooled;
+            }
+            // The value must not refer to the key strongly, or the entry would never be cleared
+            stripe.put(text, new WeakReference<>(text));
+            return text;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package budgetbuddy.parser;
+
+import budgetbuddy.exception.InvalidInputException;
+import budgetbuddy.model.AlertThreshold;
+
+/**
+ * Parses the "add-alert" command to extract the optional category and the threshold,
+ * which is either an amount or a percentage of the budget limit.
+ */
+public class AddAlertParser extends Parser<String[]> {
+    private static final double MAX_ALERT_AMOUNT = 100000; // Same limit as the "alert" command
+    private static final String USAGE = "Use: add-alert [c/CATEGORY] <AMOUNT|PERCENT%>";
+
+    public AddAlertParser(String input) {
+        super(input);
+    }
+
+    @Override
+    public String[] parse() throws InvalidInputException {
+        String[] parts = input.trim().split("\\s+");
+        String category = "";
+        String thresholdStr;
+
+        if (parts.length == 2) {
+            thresholdStr = parts[1];
+        } else if (parts.length == 3 && parts[1].startsWith("c/")) {
+            category = parts[1].substring(2).trim();
+            thresholdStr = parts[2];
+        } else {
+            throw new InvalidInputException(USAGE);
+        }
+
+        AlertThreshold threshold;
+        try {
+            threshold = AlertThreshold.parse(thresholdStr);
+        } catch (NumberFormatException e) {
+            throw new InvalidInputException("Invalid alert format. " + USAGE);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException(e.getMessage());
+        }
+        if (!threshold.isPercentage() && threshold.getValue() > Math.round(MAX_ALERT_AMOUNT * 100)) {
+            throw new InvalidInputException("Alert amount must be between 0 and " + MAX_ALERT_AMOUNT);
+        }
+
+        return new String[]{category, thresholdStr};
+    }
+}
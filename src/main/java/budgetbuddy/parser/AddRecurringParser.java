@@ -1,13 +1,17 @@
 package budgetbuddy.parser;
 
 import budgetbuddy.exception.InvalidInputException;
+import budgetbuddy.model.Recurrence;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Parses the "add-recurring" command to extract amount, category, description,
- * date/time, frequency (in days), and number of iterations.
+ * date/time, frequency, and the optional number of iterations and end date.
+ * The frequency is either a number of days or a calendar rule such as "monthly" or
+ * "FREQ=MONTHLY;BYDAY=-1FR", which is returned in the form written by {@link Recurrence#toString()}.
+ * A missing number of iterations is returned as "0" and a missing end date as an empty string.
  *
  * This is then sent to the AddRecurringExpenseCommand
  */
@@ -22,7 +26,7 @@ public class AddRecurringParser extends Parser<String[]> {
     public String[] parse() throws InvalidInputException {
         if (input.length() < 6) {
             throw new InvalidInputException("Use: add-recurring <AMOUNT> c/ <CATEGORY>" +
-                    " d/ <DESCRIPTION> t/ <DATE TIME> f/ <FREQUENCY_IN_DAYS> i/ <ITERATIONS>");
+                    " d/ <DESCRIPTION> t/ <DATE TIME> f/ <FREQUENCY> [i/ <ITERATIONS>] [u/ <END DATE TIME>]");
         }
 
         String line = input.substring("add-recurring".length()).trim();
@@ -34,7 +38,9 @@ public class AddRecurringParser extends Parser<String[]> {
         int dIndex = line.indexOf("d/");
         int tIndex = line.indexOf("t/");
         int fIndex = line.indexOf("f/");
-        int iIndex = line.indexOf("i/");
+        // i/ and u/ can only come after f/, so text like "Wifi/" in the description is not mistaken for them
+        int iIndex = line.indexOf("i/", Math.max(fIndex, 0));
+        int uIndex = line.indexOf("u/", Math.max(fIndex, 0));
 
 
         if (cIndex == -1) {
@@ -49,9 +55,6 @@ public class AddRecurringParser extends Parser<String[]> {
         if (fIndex == -1) {
             missingFields.add("f/");
         }
-        if (iIndex == -1){
-            missingFields.add("i/");
-        }
 
 
         if (!missingFields.isEmpty()) {
@@ -59,17 +62,21 @@ public class AddRecurringParser extends Parser<String[]> {
         }
 
         // Check marker order for correct parsing
-        if (!(cIndex < dIndex && dIndex < tIndex && tIndex < fIndex && fIndex < iIndex)) {
-            throw new InvalidInputException("Markers must be in order: c/ before d/ before t/ before f/ before i/");
+        if (!(cIndex < dIndex && dIndex < tIndex && tIndex < fIndex) || (uIndex != -1 && uIndex < iIndex)) {
+            throw new InvalidInputException("Markers must be in order: c/ before d/ before t/ before f/ before i/"
+                    + " before u/");
         }
 
         // Extract raw segments
+        int frequencyEnd = (iIndex != -1) ? iIndex : (uIndex != -1) ? uIndex : line.length();
         String amount = line.substring(0, cIndex).trim();
         String category = line.substring(cIndex + 2, dIndex).trim();
         String description = line.substring(dIndex + 2, tIndex).trim();
         String dateTime = line.substring(tIndex + 2, fIndex).trim();
-        String frequencyStr = line.substring(fIndex + 2, iIndex).trim();
-        String iterationsStr = line.substring(iIndex + 2).trim();
+        String frequencyStr = line.substring(fIndex + 2, frequencyEnd).trim();
+        String iterationsStr = (iIndex == -1) ? "0"
+                : line.substring(iIndex + 2, (uIndex != -1) ? uIndex : line.length()).trim();
+        String untilStr = (uIndex == -1) ? "" : line.substring(uIndex + 2).trim();
 
         if (amount.isEmpty()){
             missingFields.add("amount");
@@ -89,6 +96,9 @@ public class AddRecurringParser extends Parser<String[]> {
         if (iterationsStr.isEmpty()) {
             missingFields.add("iterations");
         }
+        if (uIndex != -1 && untilStr.isEmpty()) {
+            missingFields.add("end date");
+        }
 
 
         //print all the missing fields
@@ -109,27 +119,42 @@ public class AddRecurringParser extends Parser<String[]> {
         // Validate frequency and iterations
         int frequency;
         int iterations;
+        // The frequency is either a number of days or a calendar rule, returned in its canonical form
 
-        try {
-            frequency = Integer.parseInt(frequencyStr);
+        if (frequencyStr.chars().allMatch(Character::isDigit)) {
+            try {
+                frequency = Integer.parseInt(frequencyStr);
+            } catch (NumberFormatException e) {
+                throw new InvalidInputException("Frequency (f/) must be a valid number.");
+            }
             if (frequency < 1) {
                 throw new InvalidInputException("Frequency (f/) must be at least 1 day.");
             }
-        } catch (NumberFormatException e) {
-            throw new InvalidInputException("Frequency (f/) must be a valid number.");
+            frequencyStr = String.valueOf(frequency);
+        } else {
+            try {
+                frequencyStr = Recurrence.parse(frequencyStr).toString();
+            } catch (IllegalArgumentException e) {
+                throw new InvalidInputException("Frequency (f/) must be a number of days, daily, weekly, monthly,"
+                        + " yearly, or a rule such as FREQ=MONTHLY;BYMONTHDAY=1 (" + e.getMessage() + ")");
+            }
         }
 
         try {
             iterations = Integer.parseInt(iterationsStr);
-            if (iterations < 1) {
+            if (iterations < 1 && iIndex != -1) {
                 throw new InvalidInputException("Iterations (i/) must be at least 1.");
             }
         } catch (NumberFormatException e) {
             throw new InvalidInputException("Iterations (i/) must be a valid whole number.");
         }
 
+        if (!untilStr.isEmpty() && !DateTimeParser.parseOrDefaultBooleanReturn(untilStr, true)) {
+            throw new InvalidInputException("End date (u/) must follow the format MMM dd yyyy at HH:mm.");
+        }
+
         //return this array to AddRecurringExpenseCommand
         return new String[]{amount, category, description, dateTime,
-                String.valueOf(frequency), String.valueOf(iterations)};
+                frequencyStr, String.valueOf(iterations), untilStr};
     }
 }
@@ -0,0 +1,24 @@
+package budgetbuddy.parser;
+
+import budgetbuddy.exception.InvalidInputException;
+
+/**
+ * Parses the "clear-alerts" command to extract category if provided.
+ */
+public class ClearAlertsParser extends Parser<String> {
+    public ClearAlertsParser(String input) {
+        super(input);
+    }
+
+    @Override
+    public String parse() throws InvalidInputException {
+        String[] parts = input.trim().split("\\s+");
+        if (parts.length == 1) {
+            return "";
+        }
+        if (parts.length == 2 && parts[1].startsWith("c/")) {
+            return parts[1].substring(2).trim();
+        }
+        throw new InvalidInputException("Invalid format. Use: clear-alerts [c/CATEGORY]");
+    }
+}
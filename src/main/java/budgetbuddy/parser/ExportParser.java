@@ -0,0 +1,44 @@
+package budgetbuddy.parser;
+
+import budgetbuddy.exception.InvalidInputException;
+
+/**
+ * Parses the "export" command to extract the file path and the optional start/ and end/ date filters.
+ * <p>
+ * The path runs up to the first start/ or end/ marker that follows a space; the filters after it are read by
+ * {@link ListParser}, as for the "list" command. The values are returned in the order path, start, end, with
+ * empty strings for absent filters.
+ * </p>
+ */
+public class ExportParser extends Parser<String[]> {
+    private static final String USAGE = "Use: export <FILE> [start/<START_TIME>] [end/<END_TIME>]";
+
+    public ExportParser(String input) {
+        super(input);
+    }
+
+    @Override
+    public String[] parse() throws InvalidInputException {
+        String line = input.trim();
+        int commandEnd = line.indexOf(' ');
+        if (commandEnd == -1) {
+            throw new InvalidInputException("Missing file to export to. " + USAGE);
+        }
+        line = line.substring(commandEnd + 1).trim();
+
+        int pathEnd = line.length();
+        for (String marker : new String[]{" start/", " end/"}) {
+            int index = line.indexOf(marker);
+            if (index != -1 && index < pathEnd) {
+                pathEnd = index;
+            }
+        }
+        String path = line.substring(0, pathEnd).trim();
+        if (path.isEmpty() || path.startsWith("start/") || path.startsWith("end/")) {
+            throw new InvalidInputException("Missing file to export to. " + USAGE);
+        }
+
+        String[] window = new ListParser(line.substring(pathEnd)).parse();
+        return new String[]{path, window[0], window[1]};
+    }
+}
@@ -3,7 +3,7 @@ package budgetbuddy.parser;
 import budgetbuddy.exception.InvalidInputException;
 
 /**
- * Parses the "find" command to extract a search keyword.
+ * Parses the "find" command to extract the search keywords.
  */
 public class FindExpenseParser extends Parser<String> {
     public FindExpenseParser(String input) {
@@ -12,9 +12,9 @@ public class FindExpenseParser extends Parser<String> {
 
     @Override
     public String parse() throws InvalidInputException {
-        String[] parts = input.split(" ");
+        String[] parts = input.trim().split("\\s+", 2);
         if (parts.length != 2) {
-            throw new InvalidInputException("Use: find <KEYWORD>");
+            throw new InvalidInputException("Use: find <KEYWORD> [MORE_KEYWORDS]");
         }
         return parts[1].trim();
     }
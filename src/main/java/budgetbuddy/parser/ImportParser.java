@@ -0,0 +1,93 @@
+package budgetbuddy.parser;
+
+import budgetbuddy.exception.InvalidInputException;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Parses the "import" command to extract the file path and the optional column mapping.
+ * <p>
+ * The markers a/ (amount), d/ (description), t/ (date) and c/ (category) name a column by its header or by its
+ * number, starting from 1, f/ gives a date pattern such as {@code dd/MM/yyyy}, and s/ gives the sign of spending,
+ * {@code +} or {@code -}. They may come in any order after the path but must follow a space, so a path like
+ * {@code data/bank.csv} is not mistaken for a marker. Absent markers are returned as empty strings, in the order
+ * path, amount, description, date, category, pattern, sign.
+ * </p>
+ */
+public class ImportParser extends Parser<String[]> {
+    private static final String[] MARKERS = {"a/", "d/", "t/", "c/", "f/", "s/"};
+    private static final String USAGE = "Use: import <FILE> [a/<AMOUNT_COLUMN>] [d/<DESCRIPTION_COLUMN>]"
+            + " [t/<DATE_COLUMN>] [c/<CATEGORY_COLUMN>] [f/<DATE_PATTERN>] [s/+|-]";
+
+    public ImportParser(String input) {
+        super(input);
+    }
+
+    @Override
+    public String[] parse() throws InvalidInputException {
+        String line = input.trim();
+        int commandEnd = line.indexOf(' ');
+        if (commandEnd == -1) {
+            throw new InvalidInputException("Missing file to import. " + USAGE);
+        }
+        line = line.substring(commandEnd + 1).trim();
+
+        String[] values = new String[MARKERS.length + 1];
+        int fieldStart = 0;
+        int field = 0; // 0 for the path, otherwise one more than the index of the marker
+        for (int i = 0; i <= line.length(); i++) {
+            int marker = (i == line.length()) ? -1 : markerAt(line, i);
+            if (i < line.length() && marker == -1) {
+                continue;
+            }
+            if (values[field] != null) {
+                throw new InvalidInputException("Each marker can only be given once. " + USAGE);
+            }
+            values[field] = line.substring(fieldStart, i).trim();
+            if (marker != -1) {
+                field = marker + 1;
+                fieldStart = i + MARKERS[marker].length();
+                i = fieldStart - 1;
+            }
+        }
+
+        if (values[0].isEmpty()) {
+            throw new InvalidInputException("Missing file to import. " + USAGE);
+        }
+        for (int m = 0; m < MARKERS.length; m++) {
+            if (values[m + 1] == null) {
+                values[m + 1] = "";
+            } else if (values[m + 1].isEmpty()) {
+                throw new InvalidInputException("Missing value after " + MARKERS[m] + ". " + USAGE);
+            }
+        }
+        if (!values[5].isEmpty()) {
+            try {
+                DateTimeFormatter.ofPattern(values[5]);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidInputException("Invalid date pattern (f/): " + e.getMessage());
+            }
+        }
+        if (!values[6].isEmpty() && !values[6].equals("+") && !values[6].equals("-")) {
+            throw new InvalidInputException("The sign of spending (s/) must be + or -. " + USAGE);
+        }
+        return values;
+    }
+
+    /**
+     * Finds the marker starting at a position of the line, if it follows whitespace.
+     *
+     * @return The index of the marker, or -1 if there is none.
+     */
+    private static int markerAt(String line, int position) {
+        if (position == 0 || !Character.isWhitespace(line.charAt(position - 1))) {
+            return -1;
+        }
+        for (int m = 0; m < MARKERS.length; m++) {
+            if (line.startsWith(MARKERS[m], position)) {
+                return m;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,19 +1,25 @@
 package budgetbuddy.parser;
 
 import budgetbuddy.command.Command;
+import budgetbuddy.command.AddAlertCommand;
 import budgetbuddy.command.AddExpenseCommand;
 import budgetbuddy.command.AddRecurringExpenseCommand;
 import budgetbuddy.command.AlertCommand;
 import budgetbuddy.command.CheckBudgetCommand;
+import budgetbuddy.command.ClearAlertsCommand;
 import budgetbuddy.command.DeleteAlertCommand;
 import budgetbuddy.command.DeleteCommand;
+import budgetbuddy.command.DeleteRecurringCommand;
 import budgetbuddy.command.EditAlertCommand;
 import budgetbuddy.command.EditBudgetCommand;
 import budgetbuddy.command.EditExpenseCommand;
 import budgetbuddy.command.ExitCommand;
+import budgetbuddy.command.ExportCommand;
 import budgetbuddy.command.FindExpenseCommand;
 import budgetbuddy.command.HelpCommand;
+import budgetbuddy.command.ImportCommand;
 import budgetbuddy.command.ListCommand;
+import budgetbuddy.command.ListRecurringCommand;
 import budgetbuddy.command.SetBudgetCommand;
 import budgetbuddy.command.SummaryCommand;
 
@@ -49,6 +55,8 @@ public class InputParser {
         case "bye" -> new ExitCommand(userInput);
         case "add" -> new AddExpenseCommand(userInput);
         case "add-recurring" -> new AddRecurringExpenseCommand(userInput);
+        case "list-recurring" -> new ListRecurringCommand(userInput);
+        case "delete-recurring" -> new DeleteRecurringCommand(userInput);
         case "alert" -> new AlertCommand(userInput);
         case "summary" -> new SummaryCommand(userInput);
         case "list" -> new ListCommand(userInput);
@@ -61,6 +69,10 @@ public class InputParser {
         case "edit-budget" -> new EditBudgetCommand(userInput);
         case "edit-alert" -> new EditAlertCommand(userInput);
         case "delete-alert" -> new DeleteAlertCommand(userInput);
+        case "add-alert" -> new AddAlertCommand(userInput);
+        case "clear-alerts" -> new ClearAlertsCommand(userInput);
+        case "import" -> new ImportCommand(userInput);
+        case "export" -> new ExportCommand(userInput);
         default -> throw new InvalidInputException("Please enter 'help' for a list of commands.");
         };
     }
@@ -1,12 +1,17 @@
 package budgetbuddy.parser;
 
 import budgetbuddy.exception.InvalidInputException;
+import budgetbuddy.model.BudgetPeriod;
+
+import java.util.Arrays;
 
 /**
- * Parses the "set-budget" command to extract category and amount.
+ * Parses the "set-budget" command to extract category, amount and optional period.
+ * The period is returned as null when it is not given.
  */
 public class SetBudgetParser extends Parser<String[]> {
     private static final double MAX_AMOUNT = 100000; // Define a maximum amount limit
+    private static final String USAGE = "Use: set-budget [c/CATEGORY] <AMOUNT> [p/daily|weekly|monthly|none]";
 
     public SetBudgetParser(String input) {
         super(input);
@@ -15,8 +20,13 @@ public class SetBudgetParser extends Parser<String[]> {
     @Override
     public String[] parse() throws InvalidInputException {
         String[] parts = input.split(" ");
+        String periodStr = null;
+        if (parts.length > 2 && parts[parts.length - 1].startsWith("p/")) {
+            periodStr = parts[parts.length - 1].substring(2).trim();
+            parts = Arrays.copyOf(parts, parts.length - 1);
+        }
         if (parts.length != 2 && parts.length != 3) {
-            throw new InvalidInputException("Use: set-budget [c/CATEGORY] <AMOUNT>");
+            throw new InvalidInputException(USAGE);
         }
 
         String category = "";
@@ -28,7 +38,7 @@ public class SetBudgetParser extends Parser<String[]> {
             category = parts[1].substring(2).trim();
             amountStr = parts[2];
         } else {
-            throw new InvalidInputException("Use: set-budget [c/CATEGORY] <AMOUNT>");
+            throw new InvalidInputException(USAGE);
         }
 
         try {
@@ -40,6 +50,14 @@ public class SetBudgetParser extends Parser<String[]> {
             throw new InvalidInputException("Invalid amount format");
         }
 
-        return new String[]{category, amountStr};
+        if (periodStr != null) {
+            try {
+                BudgetPeriod.fromString(periodStr);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidInputException(e.getMessage());
+            }
+        }
+
+        return new String[]{category, amountStr, periodStr};
     }
 }
@@ -0,0 +1,313 @@
+package budgetbuddy.storage;
+
+import budgetbuddy.model.AlertThreshold;
+import budgetbuddy.model.Budget;
+import budgetbuddy.model.BudgetManager;
+import budgetbuddy.model.BudgetPeriod;
+import budgetbuddy.model.Expense;
+import budgetbuddy.model.ExpenseColumns;
+import budgetbuddy.model.Money;
+import budgetbuddy.model.Recurrence;
+import budgetbuddy.model.RecurringRule;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes the optional binary columnar snapshot format.
+ * <p>
+ * Instead of one text line per expense, the expenses are stored column by column: amounts in cents as longs,
+ * timestamps as minutes since the epoch, and descriptions and categories as ids into a string table that holds
+ * each distinct string once. Loading is a handful of bulk reads with no splitting or date parsing.
+ * Each expense is stored once, with the id of the category budget it belongs to besides Overall.
+ * </p>
+ * Layout (big-endian):
+ * <pre>
+ * int MAGIC, int VERSION, int coveredSegment
+ * int stringCount, then per string: int byteLength, UTF-8 bytes
+ * int budgetCount, then per budget: int nameId, long limitCents, byte period
+ * int expenseCount, long[] amountCents, long[] epochMinutes, int[] descriptionIds, int[] categoryIds,
+ *     long[] expenseIds
+ * long alertCents (0 if no alert is active)
+ * int thresholdCount, then per threshold: int budgetId, byte isPercentage, long value
+ * int ruleCount, then per rule: long id, int categoryId, long amountCents, int descriptionId, long startMinute,
+ *     int recurrenceId, int count, long untilMinute, int generatedCount
+ * </pre>
+ * A category id of -1 means the expense is only in Overall. The period byte is the ordinal of the
+ * {@link BudgetPeriod}, and a threshold value is in cents or hundredths of a percent.
+ * <p>
+ * The category, description and recurrence of a recurring rule are ids into the string table, with an empty
+ * category for the Overall budget only, and an until minute of {@link Long#MIN_VALUE} means no end date.
+ * </p>
+ */
+public class BinarySnapshot {
+    public static final int MAGIC = 0x42424442; // "BBDB"
+    private static final int VERSION = 1;
+    private static final int NO_CATEGORY = -1;
+    private static final long NO_END = Long.MIN_VALUE;
+
+    /**
+     * Checks whether the given file header belongs to a binary snapshot.
+     *
+     * @param header The first bytes of the file.
+     * @return true if the header starts with the binary magic number.
+     */
+    public static boolean hasMagic(byte[] header) {
+        return header.length >= 4 && ByteBuffer.wrap(header, 0, 4).getInt() == MAGIC;
+    }
+
+    /**
+     * Encodes the manager's budgets, expenses and alert as a binary snapshot.
+     *
+     * @param manager        The BudgetManager to encode.
+     * @param coveredSegment The newest journal segment folded into this snapshot.
+     * @return The encoded snapshot.
+     */
+    public static byte[] render(BudgetManager manager, int coveredSegment) {
+        List<String> strings = new ArrayList<>();
+        Map<String, Integer> stringIds = new HashMap<>();
+
+        List<Budget> budgets = new ArrayList<>(manager.getBudgets().values());
+        Map<Budget, Integer> budgetIds = new IdentityHashMap<>();
+        int[] budgetNameIds = new int[budgets.size()];
+        for (int b = 0; b < budgets.size(); b++) {
+            budgetIds.put(budgets.get(b), b);
+            budgetNameIds[b] = intern(budgets.get(b).getCategory(), strings, stringIds);
+        }
+
+        // The Overall columns already hold most of the layout; only the string and budget ids need mapping
+        ExpenseColumns columns = manager.getBudgets().get("Overall").getColumns();
+        int[] descriptionStringIds = new int[columns.getDescriptions().size()];
+        for (int id = 0; id < descriptionStringIds.length; id++) {
+            descriptionStringIds[id] = intern(columns.getDescriptions().get(id), strings, stringIds);
+        }
+        int[] categoryBudgetIds = new int[columns.getCategories().size()];
+        for (int id = 0; id < categoryBudgetIds.length; id++) {
+            Integer budgetId = budgetIds.get(columns.getCategories().get(id));
+            categoryBudgetIds[id] = (budgetId == null) ? NO_CATEGORY : budgetId;
+        }
+
+        List<RecurringRule> rules = manager.getRecurringRules();
+        int[] ruleStringIds = new int[rules.size() * 3];
+        for (int r = 0; r < rules.size(); r++) {
+            ruleStringIds[r * 3] = intern(rules.get(r).getCategory(), strings, stringIds);
+            ruleStringIds[r * 3 + 1] = intern(rules.get(r).getDescription(), strings, stringIds);
+            ruleStringIds[r * 3 + 2] = intern(rules.get(r).getRecurrence().toString(), strings, stringIds);
+        }
+
+        int expenseCount = columns.size();
+        long[] amounts = new long[expenseCount];
+        long[] minutes = new long[expenseCount];
+        int[] descriptionIds = new int[expenseCount];
+        int[] categoryIds = new int[expenseCount];
+        long[] expenseIds = new long[expenseCount];
+        List<Expense> expenses = manager.getBudgets().get("Overall").getExpenses();
+        for (int row = 0; row < expenseCount; row++) {
+            expenseIds[row] = expenses.get(row).getId();
+            amounts[row] = columns.getAmountCents(row);
+            minutes[row] = columns.getEpochMinute(row);
+            descriptionIds[row] = descriptionStringIds[columns.getDescriptionId(row)];
+            int categoryId = columns.getCategoryId(row);
+            categoryIds[row] = (categoryId == ExpenseColumns.NO_CATEGORY) ? NO_CATEGORY : categoryBudgetIds[categoryId];
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + expenseCount * 32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(coveredSegment);
+
+            out.writeInt(strings.size());
+            for (String s : strings) {
+                byte[] encoded = s.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(encoded.length);
+                out.write(encoded);
+            }
+
+            out.writeInt(budgets.size());
+            for (int b = 0; b < budgets.size(); b++) {
+                out.writeInt(budgetNameIds[b]);
+                out.writeLong(budgets.get(b).getLimitCents());
+                out.writeByte(budgets.get(b).getPeriod().ordinal());
+            }
+
+            out.writeInt(expenseCount);
+            for (long amount : amounts) {
+                out.writeLong(amount);
+            }
+            for (long minute : minutes) {
+                out.writeLong(minute);
+            }
+            for (int id : descriptionIds) {
+                out.writeInt(id);
+            }
+            for (int id : categoryIds) {
+                out.writeInt(id);
+            }
+            for (long id : expenseIds) {
+                out.writeLong(id);
+            }
+
+            boolean hasAlert = manager.getBudgetAlert().isActive();
+            out.writeLong(hasAlert ? manager.getBudgetAlert().getAlertCents() : 0);
+
+            List<AlertThreshold> thresholds = new ArrayList<>();
+            List<Integer> thresholdBudgetIds = new ArrayList<>();
+            for (int b = 0; b < budgets.size(); b++) {
+                for (AlertThreshold threshold : budgets.get(b).getAlertThresholds().getThresholds()) {
+                    thresholds.add(threshold);
+                    thresholdBudgetIds.add(b);
+                }
+            }
+            out.writeInt(thresholds.size());
+            for (int t = 0; t < thresholds.size(); t++) {
+                out.writeInt(thresholdBudgetIds.get(t));
+                out.writeBoolean(thresholds.get(t).isPercentage());
+                out.writeLong(thresholds.get(t).getValue());
+            }
+
+            out.writeInt(rules.size());
+            for (int r = 0; r < rules.size(); r++) {
+                RecurringRule rule = rules.get(r);
+                out.writeLong(rule.getId());
+                out.writeInt(ruleStringIds[r * 3]);
+                out.writeLong(rule.getAmountCents());
+                out.writeInt(ruleStringIds[r * 3 + 1]);
+                out.writeLong(ExpenseColumns.toEpochMinute(rule.getStart()));
+                out.writeInt(ruleStringIds[r * 3 + 2]);
+                out.writeInt(rule.getCount());
+                out.writeLong(rule.getUntil() == null ? NO_END : ExpenseColumns.toEpochMinute(rule.getUntil()));
+                out.writeInt(rule.getGeneratedCount());
+            }
+        } catch (IOException e) {
+            // Writing to a byte array cannot fail
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a binary snapshot into the manager.
+     * <p>
+     * Columns are copied from the buffer in bulk. Only string table offsets are read up front; each string is
+     * decoded the first time a row refers to it.
+     * </p>
+     *
+     * @param manager The BudgetManager to load into.
+     * @param buffer  The whole snapshot file. It may be a mapping that is released once this returns, so
+     *                everything loaded is copied out of it.
+     * @return The newest journal segment folded into the snapshot.
+     * @throws IllegalArgumentException If the data is not a supported binary snapshot.
+     */
+    public static int load(BudgetManager manager, ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a binary data file");
+        }
+        if (buffer.getInt() != VERSION) {
+            throw new IllegalArgumentException("Unsupported binary data file version");
+        }
+        int coveredSegment = buffer.getInt();
+
+        int stringCount = buffer.getInt();
+        int[] stringOffsets = new int[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            int length = buffer.getInt();
+            stringOffsets[i] = buffer.position() - Integer.BYTES;
+            buffer.position(buffer.position() + length);
+        }
+        String[] strings = new String[stringCount];
+
+        Budget[] budgets = new Budget[buffer.getInt()];
+        for (int b = 0; b < budgets.length; b++) {
+            String category = decodeString(buffer, buffer.getInt(), stringOffsets, strings);
+            budgets[b] = new Budget(category, Money.toDollars(buffer.getLong()));
+            budgets[b].setPeriod(BudgetPeriod.values()[buffer.get()]);
+            manager.getBudgets().put(category, budgets[b]);
+        }
+
+        int expenseCount = buffer.getInt();
+        long[] amounts = new long[expenseCount];
+        long[] minutes = new long[expenseCount];
+        int[] descriptionIds = new int[expenseCount];
+        int[] categoryIds = new int[expenseCount];
+        long[] expenseIds = new long[expenseCount];
+        buffer.asLongBuffer().get(amounts);
+        buffer.position(buffer.position() + expenseCount * Long.BYTES);
+        buffer.asLongBuffer().get(minutes);
+        buffer.position(buffer.position() + expenseCount * Long.BYTES);
+        buffer.asIntBuffer().get(descriptionIds);
+        buffer.position(buffer.position() + expenseCount * Integer.BYTES);
+        buffer.asIntBuffer().get(categoryIds);
+        buffer.position(buffer.position() + expenseCount * Integer.BYTES);
+        buffer.asLongBuffer().get(expenseIds);
+        buffer.position(buffer.position() + expenseCount * Long.BYTES);
+
+        for (int row = 0; row < expenseCount; row++) {
+            LocalDateTime dateTime = ExpenseColumns.fromEpochMinute(minutes[row]);
+            String description = decodeString(buffer, descriptionIds[row], stringOffsets, strings);
+            Expense e = Expense.withId(expenseIds[row], amounts[row], description, dateTime);
+            manager.getBudgets().get("Overall").addExpense(e);
+            if (categoryIds[row] != NO_CATEGORY) {
+                budgets[categoryIds[row]].addExpense(e);
+            }
+        }
+
+        long alertCents = buffer.getLong();
+        manager.getBudgetAlert().restoreAlert(Money.toDollars(alertCents));
+
+        int thresholdCount = buffer.getInt();
+        for (int t = 0; t < thresholdCount; t++) {
+            Budget budget = budgets[buffer.getInt()];
+            boolean isPercentage = buffer.get() != 0;
+            long value = buffer.getLong();
+            budget.addAlertThreshold(isPercentage ? AlertThreshold.ofPercentage(value) : AlertThreshold.ofCents(value));
+        }
+
+        int ruleCount = buffer.getInt();
+        for (int r = 0; r < ruleCount; r++) {
+            long id = buffer.getLong();
+            String category = decodeString(buffer, buffer.getInt(), stringOffsets, strings);
+            long amountCents = buffer.getLong();
+            String description = decodeString(buffer, buffer.getInt(), stringOffsets, strings);
+            LocalDateTime start = ExpenseColumns.fromEpochMinute(buffer.getLong());
+            Recurrence recurrence = Recurrence.parse(decodeString(buffer, buffer.getInt(), stringOffsets, strings));
+            int count = buffer.getInt();
+            long untilMinute = buffer.getLong();
+            LocalDateTime until = (untilMinute == NO_END) ? null : ExpenseColumns.fromEpochMinute(untilMinute);
+            RecurringRule rule = new RecurringRule(id, category, amountCents, description, start, recurrence,
+                    count, until);
+            rule.setGeneratedCount(buffer.getInt());
+            manager.restoreRecurringRule(rule);
+        }
+        return coveredSegment;
+    }
+
+    private static String decodeString(ByteBuffer buffer, int id, int[] offsets, String[] decoded) {
+        if (decoded[id] == null) {
+            int length = buffer.getInt(offsets[id]);
+            byte[] bytes = new byte[length];
+            buffer.get(offsets[id] + Integer.BYTES, bytes);
+            decoded[id] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return decoded[id];
+    }
+
+    private static int intern(String s, List<String> strings, Map<String, Integer> stringIds) {
+        Integer id = stringIds.get(s);
+        if (id == null) {
+            id = strings.size();
+            strings.add(s);
+            stringIds.put(s, id);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,179 @@
+package budgetbuddy.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDateTime;
+
+/**
+ * Writes text to a channel through a fixed direct buffer, encoding it as UTF-8 by hand.
+ * <p>
+ * Numbers, amounts and dates are written digit by digit straight into the buffer, so writing a row creates
+ * no strings and no formatter state, and memory use does not grow with the amount written. The buffer is
+ * handed to the channel whenever it fills up.
+ * </p>
+ */
+class ChannelWriter implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    // Digits of a number, filled from the end
+    private final byte[] digits = new byte[20];
+
+    /**
+     * Creates a writer over the given channel.
+     *
+     * @param channel The channel to write to. It is closed together with this writer.
+     */
+    ChannelWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Writes a character that is known to be ASCII, such as a delimiter.
+     */
+    ChannelWriter writeAscii(char c) throws IOException {
+        ensureRoom(1);
+        buffer.put((byte) c);
+        return this;
+    }
+
+    /**
+     * Writes a string of ASCII characters, such as a header or a JSON key.
+     */
+    ChannelWriter writeAscii(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            writeAscii(text.charAt(i));
+        }
+        return this;
+    }
+
+    /**
+     * Writes part of a string as UTF-8.
+     */
+    ChannelWriter write(CharSequence text, int start, int end) throws IOException {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                ensureRoom(1);
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                ensureRoom(2);
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                ensureRoom(4);
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else {
+                // A lone surrogate cannot be encoded and is replaced, as the JDK encoders do
+                char encoded = Character.isSurrogate(c) ? '?' : c;
+                ensureRoom(3);
+                buffer.put((byte) (0xE0 | (encoded >> 12)));
+                buffer.put((byte) (0x80 | ((encoded >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (encoded & 0x3F)));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes a string as UTF-8.
+     */
+    ChannelWriter write(CharSequence text) throws IOException {
+        return write(text, 0, text.length());
+    }
+
+    /**
+     * Writes a character as a JSON {@code \}{@code uXXXX} escape.
+     */
+    ChannelWriter writeUnicodeEscape(char c) throws IOException {
+        ensureRoom(6);
+        buffer.put((byte) '\\').put((byte) 'u');
+        for (int shift = 12; shift >= 0; shift -= 4) {
+            buffer.put((byte) HEX_DIGITS[(c >> shift) & 0xF]);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a non-negative number in decimal.
+     */
+    ChannelWriter writeNumber(long value) throws IOException {
+        assert value >= 0 : "Only non-negative numbers are written";
+        int position = digits.length;
+        do {
+            digits[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        ensureRoom(digits.length - position);
+        buffer.put(digits, position, digits.length - position);
+        return this;
+    }
+
+    /**
+     * Writes an amount in cents as a plain decimal with two decimal places, such as {@code 12.50}.
+     */
+    ChannelWriter writeCents(long cents) throws IOException {
+        if (cents < 0) {
+            writeAscii('-');
+            cents = -cents;
+        }
+        writeNumber(cents / 100).writeAscii('.');
+        return writePadded(cents % 100, 2);
+    }
+
+    /**
+     * Writes a date and time as {@code yyyy-MM-ddTHH:mm}, the ISO 8601 form without seconds.
+     */
+    ChannelWriter writeDateTime(LocalDateTime dateTime) throws IOException {
+        writePadded(dateTime.getYear(), 4).writeAscii('-').writePadded(dateTime.getMonthValue(), 2).writeAscii('-');
+        writePadded(dateTime.getDayOfMonth(), 2).writeAscii('T');
+        return writePadded(dateTime.getHour(), 2).writeAscii(':').writePadded(dateTime.getMinute(), 2);
+    }
+
+    private ChannelWriter writePadded(long value, int width) throws IOException {
+        int length = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            length++;
+        }
+        for (; length < width; length++) {
+            writeAscii('0');
+        }
+        return writeNumber(value);
+    }
+
+    /**
+     * Hands everything buffered so far to the channel.
+     *
+     * @throws IOException If the channel cannot be written.
+     */
+    void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void ensureRoom(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package budgetbuddy.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Reads comma-separated records from a stream, one record at a time.
+ * <p>
+ * Fields are split by a single pass over a character buffer, with no regular expressions. Quoted fields may
+ * contain the delimiter, line breaks and doubled quotes, as in RFC 4180, and both {@code \n} and {@code \r\n}
+ * end a record. The delimiter is the first comma, semicolon or tab found outside quotes in the first record,
+ * so files exported with semicolons or tabs are read too. A leading byte order mark is skipped.
+ * </p>
+ */
+public class CsvReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char NO_DELIMITER = 0;
+    private static final char BYTE_ORDER_MARK = 0xFEFF;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    private char delimiter = NO_DELIMITER;
+    private boolean isStart = true;
+
+    /**
+     * Creates a reader over the given character stream.
+     *
+     * @param reader The stream to read from. It is closed together with this reader.
+     */
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @param fields The list to fill with the fields of the record; it is cleared first.
+     * @return false if the end of the stream was reached before any record.
+     * @throws IOException If the stream cannot be read.
+     */
+    public boolean readRecord(List<String> fields) throws IOException {
+        fields.clear();
+        field.setLength(0);
+        int c = next();
+        if (isStart) {
+            isStart = false;
+            if (c == BYTE_ORDER_MARK) {
+                c = next();
+            }
+        }
+        if (c == -1) {
+            return false;
+        }
+
+        boolean isQuoted = false;
+        while (c != -1) {
+            if (isQuoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                } else if (peek() == '"') {
+                    field.append('"');
+                    next();
+                } else {
+                    isQuoted = false;
+                }
+            } else if (c == '"' && field.length() == 0) {
+                isQuoted = true;
+            } else if (isDelimiter((char) c)) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && peek() == '\n') {
+                    next();
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = next();
+        }
+        fields.add(field.toString());
+        return true;
+    }
+
+    private boolean isDelimiter(char c) {
+        if (delimiter == NO_DELIMITER && (c == ',' || c == ';' || c == '\t')) {
+            delimiter = c;
+        }
+        return c == delimiter;
+    }
+
+    private int next() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        limit = reader.read(buffer, 0, buffer.length);
+        position = 0;
+        if (limit <= 0) {
+            limit = 0;
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
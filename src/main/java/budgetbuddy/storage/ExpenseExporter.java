@@ -0,0 +1,161 @@
+package budgetbuddy.storage;
+
+import budgetbuddy.model.Budget;
+import budgetbuddy.model.Expense;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Exports the expenses of a budget to a CSV or JSON file.
+ * <p>
+ * The expenses are read straight from the budget's time-ordered list, between the positions found by binary
+ * search for the given window, and written through a {@link ChannelWriter}. Nothing is copied or formatted
+ * into strings per row, so memory use stays the same however many expenses are exported.
+ * </p>
+ * <p>
+ * The CSV file has the columns {@code Date,Description,Amount,Category}, the names {@link ExpenseImporter} looks
+ * for, so an exported file can be imported again. Dates are written as {@code yyyy-MM-ddTHH:mm} in both formats,
+ * and the category is empty for expenses only in the exported budget.
+ * </p>
+ */
+public class ExpenseExporter {
+    /**
+     * The file formats an export can be written in.
+     */
+    public enum Format {
+        CSV, JSON;
+
+        /**
+         * Picks the format from the extension of a file name: JSON for {@code .json}, otherwise CSV.
+         *
+         * @param fileName The name of the file to export to.
+         * @return The format of the file.
+         */
+        public static Format fromFileName(String fileName) {
+            return fileName.toLowerCase().endsWith(".json") ? JSON : CSV;
+        }
+    }
+
+    private static final String CSV_HEADER = "Date,Description,Amount,Category";
+
+    private ExpenseExporter() {
+    }
+
+    /**
+     * Writes the expenses of a budget in a window of time to a file, replacing the file if it exists.
+     *
+     * @param budget The budget whose expenses to export, usually Overall.
+     * @param from   The start of the window, or null to start from the first expense.
+     * @param to     The end of the window, or null to end at the last expense.
+     * @param path   The file to write.
+     * @param format The format to write the file in.
+     * @return The number of expenses exported.
+     * @throws IOException If the file cannot be written.
+     */
+    public static int export(Budget budget, LocalDateTime from, LocalDateTime to, Path path, Format format)
+            throws IOException {
+        List<Expense> expenses = budget.getExpenses();
+        int first = (from == null) ? 0 : budget.findFirstExpenseFrom(from);
+        int end = (to == null) ? expenses.size() : budget.findFirstExpenseAfter(to);
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try (ChannelWriter writer = new ChannelWriter(channel)) {
+            if (format == Format.JSON) {
+                writer.writeAscii('[');
+                for (int i = first; i < end; i++) {
+                    writer.writeAscii(i == first ? "\n" : ",\n");
+                    writeJson(writer, expenses.get(i), budget);
+                }
+                writer.writeAscii(first < end ? "\n]\n" : "]\n");
+            } else {
+                writer.writeAscii(CSV_HEADER).writeAscii('\n');
+                for (int i = first; i < end; i++) {
+                    writeCsv(writer, expenses.get(i), budget);
+                }
+            }
+        }
+        return Math.max(0, end - first);
+    }
+
+    private static void writeCsv(ChannelWriter writer, Expense expense, Budget budget) throws IOException {
+        writer.writeDateTime(expense.getDateTime()).writeAscii(',');
+        writeCsvField(writer, expense.getDescription());
+        writer.writeAscii(',').writeCents(expense.getAmountCents()).writeAscii(',');
+        writeCsvField(writer, getCategory(expense, budget));
+        writer.writeAscii('\n');
+    }
+
+    /**
+     * Writes a CSV field, quoting it and doubling its quotes only if it contains a delimiter, quote or line break.
+     */
+    private static void writeCsvField(ChannelWriter writer, String text) throws IOException {
+        boolean isQuoted = false;
+        for (int i = 0; i < text.length() && !isQuoted; i++) {
+            char c = text.charAt(i);
+            isQuoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!isQuoted) {
+            writer.write(text);
+            return;
+        }
+        writer.writeAscii('"');
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                writer.write(text, start, i + 1).writeAscii('"');
+                start = i + 1;
+            }
+        }
+        writer.write(text, start, text.length()).writeAscii('"');
+    }
+
+    private static void writeJson(ChannelWriter writer, Expense expense, Budget budget) throws IOException {
+        writer.writeAscii("  {\"date\": \"").writeDateTime(expense.getDateTime()).writeAscii("\", \"description\": ");
+        writeJsonString(writer, expense.getDescription());
+        writer.writeAscii(", \"amount\": ").writeCents(expense.getAmountCents()).writeAscii(", \"category\": ");
+        writeJsonString(writer, getCategory(expense, budget));
+        writer.writeAscii('}');
+    }
+
+    /**
+     * Writes a JSON string, escaping quotes, backslashes and control characters.
+     */
+    private static void writeJsonString(ChannelWriter writer, String text) throws IOException {
+        writer.writeAscii('"');
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20) {
+                writer.write(text, start, i);
+                if (c == '"' || c == '\\') {
+                    writer.writeAscii('\\').writeAscii(c);
+                } else {
+                    writer.writeUnicodeEscape(c);
+                }
+                start = i + 1;
+            }
+        }
+        writer.write(text, start, text.length()).writeAscii('"');
+    }
+
+    /**
+     * Gets the category of an expense, the first budget holding it besides the exported one.
+     *
+     * @return The category name, or empty if the expense is only in the exported budget.
+     */
+    private static String getCategory(Expense expense, Budget budget) {
+        List<Budget> owners = expense.getOwners();
+        for (int i = 0; i < owners.size(); i++) {
+            if (owners.get(i) != budget) {
+                return owners.get(i).getCategory();
+            }
+        }
+        return "";
+    }
+}
@@ -0,0 +1,353 @@
+package budgetbuddy.storage;
+
+import budgetbuddy.model.BudgetManager;
+import budgetbuddy.model.Expense;
+import budgetbuddy.model.Money;
+import budgetbuddy.model.StringPool;
+import budgetbuddy.parser.DateTimeParser;
+import budgetbuddy.ui.Ui;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Imports expenses from a CSV file, such as a bank statement export.
+ * <p>
+ * The file is streamed record by record through a {@link CsvReader}, so only the current record is held as
+ * text. The first record is the header, used to find the columns by name unless they are given by number.
+ * Amounts are parsed straight into cents after dropping currency symbols and spaces. Whichever of {@code .} and
+ * {@code ,} comes last is the decimal separator, and a lone separator followed by three digits, as in
+ * {@code 1,234}, is read with the decimal separator seen earlier in the file, or skipped if there is none yet.
+ * A minus sign or brackets make an amount negative. Only amounts with the sign of spending become expenses;
+ * the others are credits, such as refunds or salary, and are counted but not imported.
+ * Dates are read as {@code yyyy-MM-dd} with an optional time, in the app's own format, or with a given pattern,
+ * and a date repeated from the row before is not parsed again. Every expense is then added in one call to
+ * {@link BudgetManager#addExpenses(Map)}, so nothing is printed per row and the budgets are checked once.
+ * </p>
+ */
+public class ExpenseImporter {
+    /** Number of rows between progress reports. */
+    public static final int PROGRESS_INTERVAL = 10000;
+    private static final int MAX_REPORTED_ERRORS = 5;
+    private static final String DEFAULT_DESCRIPTION = "Imported expense";
+    private static final String[] AMOUNT_HEADERS = {"amount"};
+    private static final String[] DESCRIPTION_HEADERS = {"description", "details", "memo", "payee", "narrative"};
+    private static final String[] DATE_HEADERS = {"date", "transaction date", "posted date", "posting date"};
+    private static final String[] CATEGORY_HEADERS = {"category"};
+    private static final int NO_COLUMN = -1;
+    private static final char NO_SEPARATOR = 0;
+
+    private final String amountColumn;
+    private final String descriptionColumn;
+    private final String dateColumn;
+    private final String categoryColumn;
+    private final DateTimeFormatter datePattern;
+    private final boolean isSpendingNegative;
+
+    private int importedCount;
+    private int skippedCount;
+    private int creditCount;
+    // Decimal separator seen in an earlier amount of the file, or NO_SEPARATOR
+    private char decimalSeparator = NO_SEPARATOR;
+    private final TreeSet<String> unknownCategories = new TreeSet<>();
+    private String lastDateText;
+    private LocalDateTime lastDate;
+
+    /**
+     * Creates an importer with the given column mapping. Each column is a header name or a number starting
+     * from 1; an empty column is found by its usual header names instead.
+     *
+     * @param amountColumn       The column of the amounts.
+     * @param descriptionColumn  The column of the descriptions, which may be absent from the file.
+     * @param dateColumn         The column of the dates.
+     * @param categoryColumn     The column of the categories, which may be absent from the file.
+     * @param datePattern        The pattern of the dates, such as {@code dd/MM/yyyy}, or empty for the defaults.
+     * @param isSpendingNegative Whether spending is shown as negative amounts in the file, as in most bank
+     *                           account statements, rather than as positive ones.
+     */
+    public ExpenseImporter(String amountColumn, String descriptionColumn, String dateColumn, String categoryColumn,
+            String datePattern, boolean isSpendingNegative) {
+        this.amountColumn = amountColumn;
+        this.descriptionColumn = descriptionColumn;
+        this.dateColumn = dateColumn;
+        this.categoryColumn = categoryColumn;
+        this.datePattern = datePattern.isEmpty() ? null : DateTimeFormatter.ofPattern(datePattern);
+        this.isSpendingNegative = isSpendingNegative;
+    }
+
+    /**
+     * Imports every row of the file into the manager.
+     *
+     * @param path    The CSV file.
+     * @param manager The BudgetManager to add the expenses to.
+     * @throws IOException              If the file cannot be read.
+     * @throws IllegalArgumentException If the file has no header or a required column cannot be found.
+     */
+    public void importFile(Path path, BudgetManager manager) throws IOException {
+        Map<String, List<Expense>> expensesByCategory = new LinkedHashMap<>();
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(path, StandardCharsets.UTF_8))) {
+            List<String> record = new ArrayList<>();
+            if (!reader.readRecord(record)) {
+                throw new IllegalArgumentException("The file is empty.");
+            }
+            int amountIndex = findColumn(record, amountColumn, AMOUNT_HEADERS, "amount (a/)", true);
+            int dateIndex = findColumn(record, dateColumn, DATE_HEADERS, "date (t/)", true);
+            int descriptionIndex = findColumn(record, descriptionColumn, DESCRIPTION_HEADERS, "description (d/)",
+                    !descriptionColumn.isEmpty());
+            int categoryIndex = findColumn(record, categoryColumn, CATEGORY_HEADERS, "category (c/)",
+                    !categoryColumn.isEmpty());
+
+            int row = 1;
+            while (reader.readRecord(record)) {
+                row++;
+                if (isBlank(record)) {
+                    continue;
+                }
+                try {
+                    long cents = parseAmount(field(record, amountIndex));
+                    if ((cents < 0) != isSpendingNegative) {
+                        creditCount++;
+                        continue;
+                    }
+                    cents = Math.abs(cents);
+                    LocalDateTime dateTime = parseDate(field(record, dateIndex));
+                    String description = field(record, descriptionIndex).trim();
+                    String category = field(record, categoryIndex).trim();
+                    Expense expense = Expense.fromCents(cents, description.isEmpty() ? DEFAULT_DESCRIPTION
+                            : description, dateTime);
+                    String key = category.equals("Overall") ? "" : StringPool.intern(category);
+                    expensesByCategory.computeIfAbsent(key, name -> new ArrayList<>()).add(expense);
+                    importedCount++;
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    skippedCount++;
+                    if (skippedCount <= MAX_REPORTED_ERRORS) {
+                        Ui.printImportSkippedRow(row, e.getMessage());
+                    }
+                } finally {
+                    if ((row - 1) % PROGRESS_INTERVAL == 0) {
+                        Ui.printImportProgress(row - 1);
+                    }
+                }
+            }
+        }
+
+        for (String category : expensesByCategory.keySet()) {
+            if (!category.isEmpty() && !manager.getBudgets().containsKey(category)) {
+                unknownCategories.add(category);
+            }
+        }
+        manager.addExpenses(expensesByCategory);
+    }
+
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * Gets the number of rows with the sign of money paid in, which were not imported.
+     *
+     * @return The number of credit rows.
+     */
+    public int getCreditCount() {
+        return creditCount;
+    }
+
+    /**
+     * Gets the categories found in the file that have no budget; their expenses were only added to Overall.
+     *
+     * @return The category names, sorted.
+     */
+    public TreeSet<String> getUnknownCategories() {
+        return unknownCategories;
+    }
+
+    /**
+     * Finds a column in the header, by number, by the given name or by one of the usual names.
+     *
+     * @return The index of the column, or {@link #NO_COLUMN} if it is optional and not found.
+     */
+    private static int findColumn(List<String> header, String column, String[] usualNames, String label,
+            boolean isRequired) {
+        if (!column.isEmpty() && column.chars().allMatch(Character::isDigit)) {
+            int number = Integer.parseInt(column);
+            if (number < 1 || number > header.size()) {
+                throw new IllegalArgumentException("The file has no column " + number + " for the " + label + ".");
+            }
+            return number - 1;
+        }
+        String[] names = column.isEmpty() ? usualNames : new String[]{column};
+        for (String name : names) {
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).trim().equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+        }
+        if (isRequired) {
+            throw new IllegalArgumentException("Cannot find the " + label + " column"
+                    + (column.isEmpty() ? "; name it with its marker." : " '" + column + "'."));
+        }
+        return NO_COLUMN;
+    }
+
+    private static String field(List<String> record, int index) {
+        return (index == NO_COLUMN || index >= record.size()) ? "" : record.get(index);
+    }
+
+    private static boolean isBlank(List<String> record) {
+        for (String field : record) {
+            if (!field.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses an amount such as {@code "-1,234.50"}, {@code "1.234,50"}, {@code "$12"} or {@code "(8.00)"} into
+     * cents, negative if the amount has a minus sign or is in brackets.
+     *
+     * @throws IllegalArgumentException If the amount is missing, 0, or has a lone separator followed by three
+     *                                  digits before the file has shown which separator is the decimal one.
+     */
+    private long parseAmount(String text) {
+        String trimmed = text.trim();
+        int decimalIndex = Math.max(trimmed.lastIndexOf('.'), trimmed.lastIndexOf(','));
+        if (decimalIndex != -1) {
+            char separator = trimmed.charAt(decimalIndex);
+            char other = (separator == '.') ? ',' : '.';
+            if (trimmed.indexOf(separator) != decimalIndex) {
+                // Repeated, so both kinds are thousands separators, as in 1,234,567
+                decimalIndex = -1;
+            } else if (trimmed.indexOf(other) != -1) {
+                decimalSeparator = separator;
+            } else if (countDigitsAfter(trimmed, decimalIndex) != 3) {
+                decimalSeparator = separator;
+            } else if (decimalSeparator == NO_SEPARATOR) {
+                throw new IllegalArgumentException("Ambiguous amount '" + trimmed + "': '" + separator
+                        + "' may be a decimal or a thousands separator");
+            } else if (decimalSeparator != separator) {
+                decimalIndex = -1;
+            }
+        }
+
+        StringBuilder number = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (Character.isDigit(c)) {
+                number.append(c);
+            } else if (i == decimalIndex) {
+                number.append('.');
+            }
+        }
+        if (number.length() == 0) {
+            throw new IllegalArgumentException("Missing amount");
+        }
+        long cents = Money.parseCents(number.toString());
+        if (cents == 0) {
+            throw new IllegalArgumentException("Amount is 0");
+        }
+        boolean isNegative = trimmed.indexOf('-') != -1 || (trimmed.startsWith("(") && trimmed.endsWith(")"));
+        return isNegative ? -cents : cents;
+    }
+
+    private static int countDigitsAfter(String text, int index) {
+        int count = 0;
+        for (int i = index + 1; i < text.length() && Character.isDigit(text.charAt(i)); i++) {
+            count++;
+        }
+        return count;
+    }
+
+    private LocalDateTime parseDate(String text) {
+        String trimmed = text.trim();
+        if (!trimmed.equals(lastDateText)) {
+            lastDate = parseNewDate(trimmed);
+            lastDateText = trimmed;
+        }
+        return lastDate;
+    }
+
+    private LocalDateTime parseNewDate(String text) {
+        if (text.isEmpty()) {
+            throw new IllegalArgumentException("Missing date");
+        }
+        if (datePattern != null) {
+            TemporalAccessor parsed = datePattern.parseBest(text, LocalDateTime::from, LocalDate::from);
+            return (parsed instanceof LocalDate) ? ((LocalDate) parsed).atStartOfDay() : (LocalDateTime) parsed;
+        }
+        LocalDateTime isoDate = parseIsoDate(text);
+        if (isoDate != null) {
+            return isoDate;
+        }
+        try {
+            return LocalDateTime.parse(text, DateTimeParser.DATETIME_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Unknown date format '" + text + "'; give its pattern with f/");
+        }
+    }
+
+    /**
+     * Parses {@code yyyy-MM-dd}, optionally followed by a space or {@code T} and {@code HH:mm} with optional
+     * seconds, reading the digits directly. Seconds are dropped, like for every other expense.
+     *
+     * @return The date and time, or null if the text is not in this form.
+     */
+    private static LocalDateTime parseIsoDate(String text) {
+        int length = text.length();
+        if (length < 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return null;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        int hour = 0;
+        int minute = 0;
+        if (length > 10) {
+            char separator = text.charAt(10);
+            if ((separator != ' ' && separator != 'T') || length < 16 || text.charAt(13) != ':') {
+                return null;
+            }
+            hour = digits(text, 11, 2);
+            minute = digits(text, 14, 2);
+        }
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || minute < 0) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute);
+    }
+
+    /**
+     * Reads a fixed number of decimal digits.
+     *
+     * @return The number, or -1 if any of the characters is not a digit.
+     */
+    private static int digits(String text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,326 @@
+package budgetbuddy.storage;
+
+import budgetbuddy.model.AlertThreshold;
+import budgetbuddy.model.BudgetChangeListener;
+import budgetbuddy.model.BudgetPeriod;
+import budgetbuddy.model.Expense;
+import budgetbuddy.model.Money;
+import budgetbuddy.model.Recurrence;
+import budgetbuddy.model.RecurringRule;
+import budgetbuddy.model.StringPool;
+import budgetbuddy.parser.DateTimeParser;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only change log segment written next to the budget data snapshot.
+ * <p>
+ * Every successful change reported by {@link budgetbuddy.model.BudgetManager} becomes a single line,
+ * so the cost of persisting a command depends only on that command and not on the size of the history.
+ * </p>
+ * <p>
+ * Records are written behind the command loop: appending only queues the record, and a background thread
+ * drains the queue, writes whatever has accumulated in one go and forces it to disk once
+ * {@code syncIntervalMillis} have passed or {@code syncRecords} records are waiting, whichever comes first.
+ * Those two values bound how much work a crash can lose. After each record an optional callback is run on the
+ * caller's thread, which {@link StorageManager} uses to trigger compaction.
+ * </p>
+ * Record formats:
+ * <pre>
+ * ADD:CATEGORY|AMOUNT|DESCRIPTION|DATETIME|ID
+ * DELETE:ID
+ * EDIT:ID|AMOUNT|DESCRIPTION|DATETIME
+ * BUDGET:CATEGORY|LIMIT
+ * PERIOD:CATEGORY|PERIOD
+ * RENAME:OLD_NAME|NEW_NAME
+ * ALERT:AMOUNT
+ * THRESHOLD:CATEGORY|THRESHOLD
+ * CLEAR_THRESHOLDS:CATEGORY
+ * RULE:ID|CATEGORY|AMOUNT|DESCRIPTION|START|RECURRENCE|COUNT|UNTIL
+ * RULE_DUE:ID|GENERATED_COUNT|FIRST_EXPENSE_ID
+ * RULE_DELETE:ID
+ * </pre>
+ * Expenses are replayed by their id, so deletes and edits find the expense without comparing its fields.
+ * An edit record holds the expense as it is after the edit.
+ */
+public class Journal implements BudgetChangeListener {
+    // Marks the end of the queue; compared by identity
+    private static final String CLOSE_MARKER = new String("CLOSE");
+
+    private final FileOutputStream stream;
+    private final BufferedWriter writer;
+    private final Runnable afterAppend;
+    private final long syncIntervalMillis;
+    private final int syncRecords;
+    private final LinkedBlockingQueue<String> pending;
+    private final Thread writerThread;
+    private long recordCount;
+    private long byteCount;
+
+    /**
+     * Opens the journal at the given path for appending, creating the file if needed,
+     * and starts its background writer.
+     *
+     * @param path               The path of the journal file.
+     * @param afterAppend        Callback run after each record is queued, or null.
+     * @param syncIntervalMillis The longest time a written record may wait before being forced to disk.
+     * @param syncRecords        The number of waiting records that forces a sync right away.
+     * @throws IOException If the file cannot be opened.
+     */
+    public Journal(String path, Runnable afterAppend, long syncIntervalMillis, int syncRecords) throws IOException {
+        this.stream = new FileOutputStream(path, true);
+        this.writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+        this.afterAppend = afterAppend;
+        this.syncIntervalMillis = Math.max(1, syncIntervalMillis);
+        this.syncRecords = Math.max(1, syncRecords);
+        this.pending = new LinkedBlockingQueue<>();
+        this.recordCount = 0;
+        this.byteCount = 0;
+
+        this.writerThread = new Thread(this::writeBehind, "budget-journal-" + path);
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Returns the number of records appended since this journal was opened.
+     *
+     * @return The record count.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns the approximate number of bytes appended since this journal was opened.
+     *
+     * @return The byte count.
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    @Override
+    public void expenseAdded(String category, Expense expense) {
+        append("ADD:" + clean(category) + "|" + formatExpense(expense) + "|" + expense.getId());
+    }
+
+    /**
+     * Queues one record per expense but checks for compaction only once, after the whole batch.
+     */
+    @Override
+    public void expensesAdded(String category, Collection<Expense> expenses) {
+        String prefix = "ADD:" + clean(category) + "|";
+        for (Expense expense : expenses) {
+            queue(prefix + formatExpense(expense) + "|" + expense.getId());
+        }
+        if (afterAppend != null) {
+            afterAppend.run();
+        }
+    }
+
+    @Override
+    public void expenseDeleted(Expense expense) {
+        append("DELETE:" + expense.getId());
+    }
+
+    @Override
+    public void expenseEdited(Expense expense) {
+        append("EDIT:" + expense.getId() + "|" + formatExpense(expense));
+    }
+
+    @Override
+    public void budgetLimitSet(String category, double limit) {
+        append("BUDGET:" + clean(category) + "|" + Money.toPlainString(Money.toCents(limit)));
+    }
+
+    @Override
+    public void budgetPeriodSet(String category, BudgetPeriod period) {
+        append("PERIOD:" + clean(category) + "|" + period.name());
+    }
+
+    @Override
+    public void budgetRenamed(String oldName, String newName) {
+        append("RENAME:" + clean(oldName) + "|" + clean(newName));
+    }
+
+    @Override
+    public void alertSet(double amount) {
+        append("ALERT:" + Money.toPlainString(Money.toCents(amount)));
+    }
+
+    @Override
+    public void alertThresholdAdded(String category, AlertThreshold threshold) {
+        append("THRESHOLD:" + clean(category) + "|" + threshold);
+    }
+
+    @Override
+    public void alertThresholdsCleared(String category) {
+        append("CLEAR_THRESHOLDS:" + clean(category));
+    }
+
+    @Override
+    public void recurringRuleAdded(RecurringRule rule) {
+        append("RULE:" + formatRule(rule));
+    }
+
+    @Override
+    public void recurringExpensesDue(RecurringRule rule, long firstExpenseId) {
+        append("RULE_DUE:" + rule.getId() + "|" + rule.getGeneratedCount() + "|" + firstExpenseId);
+    }
+
+    @Override
+    public void recurringRuleDeleted(RecurringRule rule) {
+        append("RULE_DELETE:" + rule.getId());
+    }
+
+    /**
+     * Stops accepting records. The background writer still writes and syncs everything queued so far,
+     * then closes the file; use {@link #awaitClosed()} to wait for that.
+     */
+    public void close() {
+        pending.add(CLOSE_MARKER);
+    }
+
+    /**
+     * Waits until the background writer has synced every record and closed the file.
+     */
+    public void awaitClosed() {
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void append(String record) {
+        queue(record);
+        if (afterAppend != null) {
+            afterAppend.run();
+        }
+    }
+
+    private void queue(String record) {
+        pending.add(record);
+        recordCount++;
+        byteCount += record.length() + 1;
+    }
+
+    /**
+     * Body of the background writer. Waiting records are coalesced into a single write, and a sync is done
+     * once the durability window or record threshold is reached.
+     */
+    private void writeBehind() {
+        List<String> batch = new ArrayList<>();
+        int unsyncedRecords = 0;
+        long firstUnsyncedAt = 0;
+        boolean isClosing = false;
+
+        while (!isClosing) {
+            try {
+                long wait = (unsyncedRecords == 0) ? Long.MAX_VALUE
+                        : firstUnsyncedAt + syncIntervalMillis - System.currentTimeMillis();
+                String record = pending.poll(Math.max(0, wait), TimeUnit.MILLISECONDS);
+                if (record != null) {
+                    batch.add(record);
+                    pending.drainTo(batch);
+                }
+            } catch (InterruptedException e) {
+                isClosing = true;
+            }
+
+            if (!batch.isEmpty() && batch.get(batch.size() - 1) == CLOSE_MARKER) {
+                batch.remove(batch.size() - 1);
+                isClosing = true;
+            }
+            if (!batch.isEmpty()) {
+                if (unsyncedRecords == 0) {
+                    firstUnsyncedAt = System.currentTimeMillis();
+                }
+                unsyncedRecords += write(batch);
+                batch.clear();
+            }
+
+            boolean isWindowOver = System.currentTimeMillis() - firstUnsyncedAt >= syncIntervalMillis;
+            if (unsyncedRecords > 0 && (isClosing || isWindowOver || unsyncedRecords >= syncRecords)) {
+                sync();
+                unsyncedRecords = 0;
+            }
+        }
+
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.out.println("Error closing budget journal: " + e.getMessage());
+        }
+    }
+
+    private int write(List<String> batch) {
+        try {
+            for (String record : batch) {
+                writer.write(record);
+                writer.newLine();
+            }
+            writer.flush();
+            return batch.size();
+        } catch (IOException e) {
+            System.out.println("Error writing budget journal: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private void sync() {
+        try {
+            stream.getFD().sync();
+        } catch (IOException e) {
+            System.out.println("Error syncing budget journal: " + e.getMessage());
+        }
+    }
+
+    private static String formatExpense(Expense expense) {
+        return Money.toPlainString(expense.getAmountCents()) + "|" + clean(expense.getDescription()) + "|"
+                + expense.getDateTimeString();
+    }
+
+    /**
+     * Formats a recurring rule as {@code ID|CATEGORY|AMOUNT|DESCRIPTION|START|RECURRENCE|COUNT|UNTIL}, with an
+     * empty category for the Overall budget only and an empty end date for none. The snapshot uses the same fields.
+     */
+    static String formatRule(RecurringRule rule) {
+        String until = (rule.getUntil() == null) ? "" : rule.getUntil().format(DateTimeParser.DATETIME_FORMAT);
+        return rule.getId() + "|" + clean(rule.getCategory()) + "|" + Money.toPlainString(rule.getAmountCents())
+                + "|" + clean(rule.getDescription()) + "|" + rule.getStart().format(DateTimeParser.DATETIME_FORMAT)
+                + "|" + rule.getRecurrence() + "|" + rule.getCount() + "|" + until;
+    }
+
+    /**
+     * Parses the fields written by {@link #formatRule(RecurringRule)}.
+     *
+     * @param fields The record split on {@code |}.
+     * @return The rule, with no occurrences produced yet.
+     */
+    static RecurringRule parseRule(String[] fields) {
+        if (fields.length < 8) {
+            throw new IllegalArgumentException("Incomplete recurring rule");
+        }
+        LocalDateTime until = fields[7].isEmpty() ? null
+                : LocalDateTime.parse(fields[7], DateTimeParser.DATETIME_FORMAT);
+        return new RecurringRule(Long.parseLong(fields[0]), StringPool.intern(fields[1]),
+                Money.parseCents(fields[2]), fields[3], LocalDateTime.parse(fields[4], DateTimeParser.DATETIME_FORMAT),
+                Recurrence.parse(fields[5]), Integer.parseInt(fields[6]), until);
+    }
+
+    private static String clean(String field) {
+        return (field == null) ? "" : field.replace("|", " ");
+    }
+}
@@ -0,0 +1,83 @@
+package budgetbuddy.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Reads a whole file through a memory mapping that only lasts as long as the read.
+ * <p>
+ * A mapping normally stays in place until its buffer is garbage collected, and on Windows a mapped file cannot be
+ * replaced until then, which would make the next snapshot write fail. The mapping is therefore released as soon as
+ * the reader returns, so the reader must copy out everything it needs and keep no reference to the buffer or to a
+ * view of it. If the running JVM offers no way to release a mapping early, the file is read onto the heap instead.
+ * </p>
+ */
+class MappedFile {
+    // Releases a mapping right away, or null if this JVM does not allow it
+    private static final Consumer<ByteBuffer> UNMAPPER = findUnmapper();
+
+    /**
+     * Passes the whole file to the reader as one buffer, positioned at 0.
+     *
+     * @param file   The file to read.
+     * @param reader Decodes the buffer. The buffer is only valid until it returns.
+     * @return Whatever the reader returned.
+     * @throws IOException If the file cannot be read, or is too large to hold in one buffer.
+     */
+    static <T> T read(File file, Function<ByteBuffer, T> reader) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File is too large to load: " + size + " bytes");
+            }
+            if (UNMAPPER == null) {
+                return reader.apply(readOntoHeap(channel, (int) size));
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            try {
+                return reader.apply(buffer);
+            } finally {
+                UNMAPPER.accept(buffer);
+            }
+        }
+    }
+
+    private static ByteBuffer readOntoHeap(FileChannel channel, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // Keep reading until the buffer is full or the file ends
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Looks up {@code sun.misc.Unsafe.invokeCleaner}, which releases a mapped buffer without waiting for the
+     * garbage collector.
+     */
+    private static Consumer<ByteBuffer> findUnmapper() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field instance = unsafeClass.getDeclaredField("theUnsafe");
+            instance.setAccessible(true);
+            Object unsafe = instance.get(null);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            return buffer -> {
+                try {
+                    invokeCleaner.invoke(unsafe, buffer);
+                } catch (ReflectiveOperationException e) {
+                    // The mapping is released by the garbage collector instead
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
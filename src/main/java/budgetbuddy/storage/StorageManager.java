@@ -1,104 +1,574 @@
 package budgetbuddy.storage;
 
+import budgetbuddy.model.AlertThreshold;
 import budgetbuddy.model.Budget;
 import budgetbuddy.model.BudgetManager;
+import budgetbuddy.model.BudgetPeriod;
 import budgetbuddy.model.Expense;
+import budgetbuddy.model.Money;
+import budgetbuddy.model.RecurringRule;
+import budgetbuddy.parser.DateTimeParser;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Handles saving and loading of budget and alert data to/from a local txt file.
+ * <p>
+ * The txt file holds a full snapshot of the data. Changes made after the snapshot are appended to numbered
+ * {@link Journal} segments as they happen, and only the segments newer than the snapshot are replayed when loading.
+ * Once the journal grows past {@link #COMPACT_RECORD_THRESHOLD} records or {@link #COMPACT_SIZE_THRESHOLD} bytes,
+ * it is folded into a new snapshot on a background thread, which keeps loading time bounded. The background thread
+ * rebuilds the data from the old snapshot and the closed segments, since journal records refer to expenses by id,
+ * so compaction never reads the budgets the REPL thread is changing.
+ * </p>
+ * <p>
+ * Snapshots are written as text unless the {@code budgetbuddy.storage.format} system property is set to
+ * {@code binary}, in which case {@link BinarySnapshot} is used. The format is detected from the file header
+ * when loading, and a binary data file stays binary.
+ * </p>
  */
 public class StorageManager {
-    private static final String FILE_PATH = "budget_data.txt";
+    private static final String FILE_NAME = "budget_data.txt";
+    private static final String TEMP_FILE_NAME = "budget_data_temp.txt";
+    private static final String JOURNAL_PREFIX = "budget_data.journal.";
+    private static final int COMPACT_RECORD_THRESHOLD = 1000;
+    private static final long COMPACT_SIZE_THRESHOLD = 1024 * 1024;
+    // Set this system property to "binary" to save snapshots in the binary columnar format
+    private static final String FORMAT_PROPERTY = "budgetbuddy.storage.format";
+    // These system properties set the durability window of the journal: the longest a change may stay
+    // unsynced, in milliseconds, and the number of unsynced changes that forces a sync.
+    private static final String SYNC_INTERVAL_PROPERTY = "budgetbuddy.storage.syncIntervalMs";
+    private static final String SYNC_RECORDS_PROPERTY = "budgetbuddy.storage.syncRecords";
+    private static final long DEFAULT_SYNC_INTERVAL_MS = 500;
+    private static final int DEFAULT_SYNC_RECORDS = 32;
+
+    // Folder holding the data file and the journal segments
+    private static File directory = new File(".");
+    private static Journal journal;
+    // Number of the newest journal segment, the one being appended to while a journal is open
+    private static int journalSegment = 0;
+    // Records and bytes in uncompacted segments older than the open one
+    private static long tailRecords = 0;
+    private static long tailBytes = 0;
+    // Newest segment folded into a snapshot on disk, so that a late background write never overwrites newer data
+    private static int snapshotSegment = 0;
+    private static ExecutorService compactor;
+    // Set while loading a data file saved by an older version, whose expenses were given ids only in memory
+    private static boolean isOlderFormatLoaded = false;
+    private static boolean isBinaryFormat = "binary".equalsIgnoreCase(System.getProperty(FORMAT_PROPERTY));
 
     /**
-     * Saves all budgets and alert amount to a file.
+     * Saves all budgets and alert amount to a file, folding the journal into it.
      */
     public static void save(BudgetManager manager) {
-        File tempFile = new File("budget_data_temp.txt");
-        File finalFile = new File(FILE_PATH);
-
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(tempFile))) {
-            for (Map.Entry<String, Budget> entry : manager.getBudgets().entrySet()) {
-                String category = entry.getKey();
-                Budget budget = entry.getValue();
-                writer.write("CATEGORY:" + category + "|LIMIT:" + budget.getLimit());
-                writer.newLine();
-                for (Expense e : budget.getExpenses()) {
-                    writer.write("EXPENSE:" + e.getAmount() + "|"
-                            + e.getDescription().replace("|", " ") + "|"
-                            + e.getDateTimeString());
-                    writer.newLine();
+        int coveredSegment = rotateJournal(manager);
+        writeSnapshot(renderSnapshot(manager, coveredSegment), coveredSegment);
+    }
+
+    /**
+     * Starts appending every subsequent change made through the manager to a new journal segment.
+     *
+     * @param manager The BudgetManager whose changes should be journaled.
+     */
+    public static void openJournal(BudgetManager manager) {
+        if (journal != null) {
+            // The old segment finishes writing in the background
+            journal.close();
+            tailRecords += journal.getRecordCount();
+            tailBytes += journal.getByteCount();
+        }
+        journalSegment++;
+        try {
+            long syncInterval = Long.getLong(SYNC_INTERVAL_PROPERTY, DEFAULT_SYNC_INTERVAL_MS);
+            int syncRecords = Integer.getInteger(SYNC_RECORDS_PROPERTY, DEFAULT_SYNC_RECORDS);
+            journal = new Journal(journalFile(journalSegment).getPath(), () -> compactIfDue(manager),
+                    syncInterval, syncRecords);
+            manager.setChangeListener(journal);
+        } catch (IOException e) {
+            journal = null;
+            System.out.println("Error opening budget journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Forces outstanding journal records to disk, waits for any running compaction and stops journaling.
+     */
+    public static void closeJournal() {
+        if (journal != null) {
+            journal.close();
+            journal.awaitClosed();
+            if (journal.getRecordCount() == 0) {
+                // Nothing changed in this segment, so do not leave an empty file behind
+                journalFile(journalSegment).delete();
+            }
+            journal = null;
+        }
+        if (compactor != null) {
+            compactor.shutdown();
+            try {
+                compactor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            compactor = null;
+        }
+    }
+
+    private static void compactIfDue(BudgetManager manager) {
+        long records = tailRecords + journal.getRecordCount();
+        long bytes = tailBytes + journal.getByteCount();
+        if (records < COMPACT_RECORD_THRESHOLD && bytes < COMPACT_SIZE_THRESHOLD) {
+            return;
+        }
+
+        Journal closedJournal = journal;
+        int coveredSegment = rotateJournal(manager);
+        if (compactor == null) {
+            compactor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "budget-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        compactor.submit(() -> foldSegments(closedJournal, coveredSegment));
+    }
+
+    /**
+     * Folds the journal segments up to the given one into a new snapshot. This runs on the compactor thread:
+     * the snapshot is rebuilt in a separate manager from the data file and the segments, not rendered from the
+     * budgets the REPL thread is using. Being synchronized with {@link #writeSnapshot}, it never reads a data file
+     * or segment that a concurrent save is replacing.
+     *
+     * @param closedJournal  The journal of the newest segment, which may still be finishing its writes.
+     * @param coveredSegment The newest segment to fold in.
+     */
+    private static synchronized void foldSegments(Journal closedJournal, int coveredSegment) {
+        closedJournal.awaitClosed();
+        if (coveredSegment <= snapshotSegment) {
+            return;
+        }
+        // Nothing is printed here: corrupted lines were reported when the data was loaded, and this thread
+        // must not write into the user's session
+        BudgetManager folded = new BudgetManager();
+        File file = new File(directory, FILE_NAME);
+        try {
+            int loadedSegment = file.exists() ? loadSnapshot(folded, file, false) : 0;
+            for (Map.Entry<Integer, File> segment : findSegments().headMap(coveredSegment, true).entrySet()) {
+                if (segment.getKey() > loadedSegment) {
+                    replayJournal(folded, segment.getValue(), false);
                 }
             }
+        } catch (IOException e) {
+            // Keep the segments; the next compaction or the next start folds them in
+            return;
+        }
+        writeSnapshot(renderSnapshot(folded, coveredSegment), coveredSegment);
+    }
+
+    /**
+     * Closes the open journal segment and starts a new one, so that the returned segment and
+     * all segments before it can be folded into a snapshot.
+     *
+     * @return The number of the newest segment the next snapshot will cover.
+     */
+    private static int rotateJournal(BudgetManager manager) {
+        int coveredSegment = journalSegment;
+        if (journal != null) {
+            openJournal(manager);
+        }
+        tailRecords = 0;
+        tailBytes = 0;
+        return coveredSegment;
+    }
+
+    /**
+     * Encodes the current state in the configured snapshot format.
+     */
+    private static byte[] renderSnapshot(BudgetManager manager, int coveredSegment) {
+        if (isBinaryFormat) {
+            return BinarySnapshot.render(manager, coveredSegment);
+        }
+
+        String newLine = System.lineSeparator();
+        StringBuilder text = new StringBuilder();
+        text.append("JOURNAL:").append(coveredSegment).append(newLine);
+        for (Map.Entry<String, Budget> entry : manager.getBudgets().entrySet()) {
+            text.append("CATEGORY:").append(entry.getKey()).append("|LIMIT:")
+                    .append(Money.toPlainString(entry.getValue().getLimitCents()));
+            if (entry.getValue().getPeriod() != BudgetPeriod.NONE) {
+                text.append("|PERIOD:").append(entry.getValue().getPeriod().name());
+            }
+            text.append(newLine);
+        }
+        for (Map.Entry<String, Budget> entry : manager.getBudgets().entrySet()) {
+            for (AlertThreshold threshold : entry.getValue().getAlertThresholds().getThresholds()) {
+                text.append("THRESHOLD:").append(entry.getKey()).append("|").append(threshold).append(newLine);
+            }
+        }
+        // Expenses produced by a rule are written as ordinary expenses; the rule only keeps how many it produced
+        for (RecurringRule rule : manager.getRecurringRules()) {
+            text.append("RULE:").append(Journal.formatRule(rule)).append("|").append(rule.getGeneratedCount())
+                    .append(newLine);
+        }
+
+        // Every expense is in Overall, so it is written once from there together with its category, if any
+        Map<Expense, String> categories = mapExpenseCategories(manager);
+        for (Expense e : manager.getBudgets().get("Overall").getExpenses()) {
+            text.append("EXPENSE:").append(Money.toPlainString(e.getAmountCents())).append("|")
+                    .append(e.getDescription().replace("|", " ")).append("|")
+                    .append(e.getDateTimeString()).append("|")
+                    .append(categories.getOrDefault(e, "")).append("|")
+                    .append(e.getId()).append(newLine);
+        }
 
-            if (manager.getBudgetAlert().isActive()) {
-                writer.write("ALERT:" + manager.getBudgetAlert().getAlertAmount());
-                writer.newLine();
+        if (manager.getBudgetAlert().isActive()) {
+            text.append("ALERT:").append(Money.toPlainString(manager.getBudgetAlert().getAlertCents()))
+                    .append(newLine);
+        }
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Maps each expense held by a category budget other than Overall to the name of that category.
+     */
+    private static Map<Expense, String> mapExpenseCategories(BudgetManager manager) {
+        Map<Expense, String> categories = new IdentityHashMap<>();
+        for (Map.Entry<String, Budget> entry : manager.getBudgets().entrySet()) {
+            if (entry.getKey().equals("Overall")) {
+                continue;
             }
+            for (Expense e : entry.getValue().getExpenses()) {
+                categories.put(e, entry.getKey());
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * Makes category budgets loaded from the older format, which stored every category's expenses separately
+     * and without ids, share the matching Expense instances of the Overall budget, as {@code addExpenseToBudget}
+     * does. The data is saved in the current format once loading finishes, so the new ids are kept.
+     */
+    static void upgradeOlderFormat(BudgetManager manager) {
+        isOlderFormatLoaded = true;
+        Budget overall = manager.getBudgets().get("Overall");
+        if (overall == null) {
+            return;
+        }
+        Map<String, Deque<Expense>> unclaimed = new HashMap<>();
+        for (Expense e : overall.getExpenses()) {
+            unclaimed.computeIfAbsent(expenseKey(e), key -> new ArrayDeque<>()).add(e);
+        }
+        for (Budget budget : manager.getBudgets().values()) {
+            if (budget == overall) {
+                continue;
+            }
+            for (Expense e : new ArrayList<>(budget.getExpenses())) {
+                Deque<Expense> matches = unclaimed.get(expenseKey(e));
+                if (matches != null && !matches.isEmpty()) {
+                    budget.replaceExpense(e, matches.poll());
+                }
+            }
+        }
+    }
+
+    private static String expenseKey(Expense e) {
+        return e.getAmountCents() + "|" + e.getDescription() + "|" + e.getDateTimeString();
+    }
+
+    /**
+     * Writes the snapshot to a temp file and only replaces the data file once writing succeeded.
+     * The journal segments folded into the snapshot are deleted afterwards.
+     */
+    private static synchronized void writeSnapshot(byte[] snapshot, int coveredSegment) {
+        if (coveredSegment < snapshotSegment) {
+            return;
+        }
+        File tempFile = new File(directory, TEMP_FILE_NAME);
+        File finalFile = new File(directory, FILE_NAME);
+
+        try (FileOutputStream stream = new FileOutputStream(tempFile)) {
+            stream.write(snapshot);
+            stream.getFD().sync();
         } catch (IOException e) {
             System.out.println("Error saving budget data: " + e.getMessage());
             return;
         }
 
-        // Only replace original file if writing succeeded
-        if (!tempFile.renameTo(finalFile)) {
+        try {
+            Files.move(tempFile.toPath(), finalFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
             System.out.println("Failed to replace the old data file with new one.");
+            return;
         }
+
+        snapshotSegment = coveredSegment;
+        deleteSegmentsUpTo(coveredSegment);
+    }
+
+    private static void deleteSegmentsUpTo(int coveredSegment) {
+        for (Map.Entry<Integer, File> segment : findSegments().entrySet()) {
+            if (segment.getKey() <= coveredSegment && !segment.getValue().delete()) {
+                System.out.println("Failed to delete old journal segment " + segment.getValue().getName());
+            }
+        }
+    }
+
+    private static File journalFile(int segment) {
+        return new File(directory, JOURNAL_PREFIX + segment);
+    }
+
+    /**
+     * Points storage at another folder instead of the working directory. Tests use this to work in a temporary
+     * folder; it must be called while no journal is open.
+     *
+     * @param newDirectory The folder to keep the data file and journal segments in.
+     */
+    static void setDirectory(File newDirectory) {
+        directory = newDirectory;
+    }
+
+    /**
+     * Finds every journal segment next to the data file, ordered by segment number.
+     */
+    private static TreeMap<Integer, File> findSegments() {
+        TreeMap<Integer, File> segments = new TreeMap<>();
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(JOURNAL_PREFIX));
+        if (files == null) {
+            return segments;
+        }
+        for (File file : files) {
+            try {
+                segments.put(Integer.parseInt(file.getName().substring(JOURNAL_PREFIX.length())), file);
+            } catch (NumberFormatException e) {
+                // Not a journal segment
+            }
+        }
+        return segments;
     }
 
+    /**
+     * Loads the latest snapshot, then replays only the journal segments written after it.
+     */
     public static void load(BudgetManager manager) {
-        File file = new File(FILE_PATH);
-        if (!file.exists()) {
-            return;
+        File file = new File(directory, FILE_NAME);
+        isOlderFormatLoaded = false;
+        int coveredSegment = 0;
+        try {
+            coveredSegment = file.exists() ? loadSnapshot(manager, file, true) : 0;
+        } catch (IOException e) {
+            System.out.println("Error reading budget data: " + e.getMessage());
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            Budget currentBudget = null;
+        journalSegment = coveredSegment;
+        snapshotSegment = coveredSegment;
+        tailRecords = 0;
+        tailBytes = 0;
+        for (Map.Entry<Integer, File> segment : findSegments().entrySet()) {
+            if (segment.getKey() <= coveredSegment) {
+                // Already folded into the snapshot, left behind by an interrupted compaction
+                segment.getValue().delete();
+                continue;
+            }
+            try {
+                tailRecords += replayJournal(manager, segment.getValue(), true);
+            } catch (IOException e) {
+                System.out.println("Error reading budget journal: " + e.getMessage());
+            }
+            tailBytes += segment.getValue().length();
+            journalSegment = segment.getKey();
+        }
+
+        if (isOlderFormatLoaded) {
+            // Save the ids now, before new journal records refer to them or a compaction rebuilds the data
+            save(manager);
+            isOlderFormatLoaded = false;
+        }
+
+        // Crossings of the loaded spending were announced in an earlier session
+        manager.markAlertsSeen();
+    }
+
+    /**
+     * Loads a snapshot file in whichever format it is in.
+     *
+     * @param isReporting Whether to print a notice for each corrupted line that is skipped.
+     * @return The newest journal segment already folded into the snapshot, 0 if none.
+     * @throws IOException If the file cannot be read, or a binary file cannot be decoded.
+     */
+    private static int loadSnapshot(BudgetManager manager, File file, boolean isReporting) throws IOException {
+        return isBinaryFile(file) ? loadBinarySnapshot(manager, file)
+                : TextSnapshotLoader.load(manager, file, isReporting);
+    }
+
+    private static boolean isBinaryFile(File file) {
+        byte[] header = new byte[4];
+        try (FileInputStream stream = new FileInputStream(file)) {
+            return stream.readNBytes(header, 0, header.length) == header.length && BinarySnapshot.hasMagic(header);
+        } catch (IOException e) {
+            return false;
+        }
+    }
 
+    /**
+     * Loads a binary snapshot file into the manager. Later saves keep using the binary format.
+     * The file is memory-mapped only while it is decoded, so that a later save can replace it on Windows.
+     *
+     * @return The newest journal segment already folded into the snapshot, 0 if none.
+     * @throws IOException If the file cannot be read or decoded.
+     */
+    private static int loadBinarySnapshot(BudgetManager manager, File file) throws IOException {
+        isBinaryFormat = true;
+        try {
+            return MappedFile.read(file, buffer -> BinarySnapshot.load(manager, buffer));
+        } catch (RuntimeException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Replays every record of a journal segment on top of the data already loaded.
+     * Records are applied directly to the budgets so that no command output is printed.
+     *
+     * @param isReporting Whether to print a notice for each corrupted record that is skipped.
+     * @return The number of records in the segment.
+     * @throws IOException If the segment cannot be read.
+     */
+    private static int replayJournal(BudgetManager manager, File journalFile, boolean isReporting)
+            throws IOException {
+        int records = 0;
+        // Journal writes UTF-8; bytes cut off by a crash decode to a replacement character instead of failing
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(journalFile),
+                StandardCharsets.UTF_8))) {
+            String line;
             while ((line = reader.readLine()) != null) {
+                records++;
                 try {
-                    if (line.startsWith("CATEGORY:")) {
-                        String[] parts = line.split("\\|LIMIT:");
-                        String category = parts[0].substring(9);
-                        double limit = Double.parseDouble(parts[1]);
-                        currentBudget = new Budget(category, limit);
-                        manager.getBudgets().put(category, currentBudget);
-
-                    } else if (line.startsWith("EXPENSE:") && currentBudget != null) {
-                        String[] parts = line.substring(8).split("\\|");
-                        if (parts.length < 3) {
-                            throw new IllegalArgumentException("Incomplete expense line");
-                        }
-                        double amount = Double.parseDouble(parts[0]);
-                        String description = parts[1];
-                        String timeStamp = parts[2];
-                        Expense e = new Expense(amount, description, timeStamp, true);
-                        currentBudget.addExpense(e);
-
-                    } else if (line.startsWith("ALERT:")) {
-                        double alertAmount = Double.parseDouble(line.substring(6));
-                        manager.setBudgetAlert(alertAmount);
-                    }
+                    applyJournalRecord(manager, line);
                 } catch (Exception e) {
-                    System.out.println("Skipping corrupted line: \"" + line + "\" (" + e.getMessage() + ")");
-                    // Optionally: log to a file or count skipped lines
+                    if (isReporting) {
+                        System.out.println("Skipping corrupted journal record: \"" + line + "\" ("
+                                + e.getMessage() + ")");
+                    }
                 }
             }
-        } catch (IOException e) {
-            System.out.println("Error reading budget data: " + e.getMessage());
         }
+        return records;
     }
-}
 
+    private static void applyJournalRecord(BudgetManager manager, String line) {
+        Map<String, Budget> budgets = manager.getBudgets();
+
+        if (line.startsWith("ADD:")) {
+            String[] parts = splitRecord(line.substring(4), 5);
+            long id = Long.parseLong(parts[4]);
+            if (manager.getExpenseById(id) != null) {
+                // Already in the snapshot
+                return;
+            }
+            LocalDateTime dateTime = DateTimeParser.parseOrDefault(parts[3], true);
+            Expense e = Expense.withId(id, Money.parseCents(parts[1]), parts[2], dateTime);
+            budgets.computeIfAbsent("Overall", name -> new Budget(name, 0)).addExpense(e);
+            if (!parts[0].isEmpty() && budgets.containsKey(parts[0])) {
+                budgets.get(parts[0]).addExpense(e);
+            }
 
+        } else if (line.startsWith("DELETE:")) {
+            Expense match = manager.getExpenseById(Long.parseLong(line.substring(7)));
+            if (match != null) {
+                for (Budget owner : new ArrayList<>(match.getOwners())) {
+                    owner.removeExpense(match);
+                }
+            }
 
+        } else if (line.startsWith("EDIT:")) {
+            String[] parts = splitRecord(line.substring(5), 4);
+            Expense match = manager.getExpenseById(Long.parseLong(parts[0]));
+            if (match != null) {
+                match.editExpense(parts[1], parts[2], parts[3]);
+            }
 
+        } else if (line.startsWith("BUDGET:")) {
+            String[] parts = splitRecord(line.substring(7), 2);
+            double limit = Money.toDollars(Money.parseCents(parts[1]));
+            if (budgets.containsKey(parts[0])) {
+                budgets.get(parts[0]).setLimit(limit);
+            } else {
+                budgets.put(parts[0], new Budget(parts[0], limit));
+            }
+
+        } else if (line.startsWith("PERIOD:")) {
+            String[] parts = splitRecord(line.substring(7), 2);
+            BudgetPeriod period = BudgetPeriod.fromString(parts[1]);
+            if (budgets.containsKey(parts[0])) {
+                budgets.get(parts[0]).setPeriod(period);
+            }
+
+        } else if (line.startsWith("THRESHOLD:")) {
+            String[] parts = splitRecord(line.substring(10), 2);
+            if (budgets.containsKey(parts[0])) {
+                budgets.get(parts[0]).addAlertThreshold(AlertThreshold.parse(parts[1]));
+            }
+
+        } else if (line.startsWith("CLEAR_THRESHOLDS:")) {
+            Budget budget = budgets.get(line.substring(17));
+            if (budget != null) {
+                budget.clearAlertThresholds();
+            }
+
+        } else if (line.startsWith("RULE:")) {
+            manager.restoreRecurringRule(Journal.parseRule(splitRecord(line.substring(5), 8)));
+
+        } else if (line.startsWith("RULE_DUE:")) {
+            String[] parts = splitRecord(line.substring(9), 3);
+            manager.restoreRecurringExpenses(Long.parseLong(parts[0]), Integer.parseInt(parts[1]),
+                    Long.parseLong(parts[2]));
+
+        } else if (line.startsWith("RULE_DELETE:")) {
+            manager.removeRecurringRule(Long.parseLong(line.substring(12)));
+
+        } else if (line.startsWith("RENAME:")) {
+            String[] parts = splitRecord(line.substring(7), 2);
+            Budget budget = budgets.remove(parts[0]);
+            if (budget != null) {
+                budget.setCategory(parts[1]);
+                budgets.put(parts[1], budget);
+            }
+            manager.renameRecurringCategory(parts[0], parts[1]);
+
+        } else if (line.startsWith("ALERT:")) {
+            manager.getBudgetAlert().restoreAlert(Money.toDollars(Money.parseCents(line.substring(6))));
+
+        } else {
+            throw new IllegalArgumentException("Unknown record type");
+        }
+    }
+
+    private static String[] splitRecord(String body, int fieldCount) {
+        String[] parts = body.split("\\|", -1);
+        if (parts.length < fieldCount) {
+            throw new IllegalArgumentException("Incomplete journal record");
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,301 @@
+package budgetbuddy.storage;
+
+import budgetbuddy.model.AlertThreshold;
+import budgetbuddy.model.Budget;
+import budgetbuddy.model.BudgetManager;
+import budgetbuddy.model.BudgetPeriod;
+import budgetbuddy.model.Expense;
+import budgetbuddy.model.Money;
+import budgetbuddy.model.RecurringRule;
+import budgetbuddy.model.StringPool;
+import budgetbuddy.parser.DateTimeParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the text snapshot format.
+ * <p>
+ * The file is read in chunks that end on line boundaries. Once a file reaches {@link #PARALLEL_THRESHOLD} bytes,
+ * the chunks are parsed in parallel on the common ForkJoinPool while later ones are still being read. Parsing is
+ * the expensive part, since every expense line needs its number and date parsed. Parsed chunks are applied to the
+ * budgets one by one in file order, and only a few chunks are read ahead of the one being applied, so memory use
+ * does not grow with the file. Loading, including the order of corrupted-line reports, is therefore exactly the
+ * same as reading the file line by line.
+ * </p>
+ */
+public class TextSnapshotLoader {
+    private static final long PARALLEL_THRESHOLD = 1024 * 1024;
+    private static final int CHUNK_SIZE = 256 * 1024;
+
+    /**
+     * Kinds of lines found in a text snapshot.
+     */
+    private enum Kind { JOURNAL, CATEGORY, THRESHOLD, RULE, EXPENSE, ALERT, CORRUPTED, OTHER }
+
+    /**
+     * A snapshot line after parsing, ready to be applied to the budgets.
+     */
+    private static class ParsedLine {
+        private final Kind kind;
+        private final String line;
+        private String name;
+        private double number;
+        private BudgetPeriod period;
+        private AlertThreshold threshold;
+        private RecurringRule rule;
+        private Expense expense;
+        private String error;
+
+        private ParsedLine(Kind kind, String line) {
+            this.kind = kind;
+            this.line = line;
+        }
+    }
+
+    /**
+     * Applies parsed lines to the budgets in file order, keeping track of the budget the older format
+     * lists expenses under.
+     */
+    private static class Applier {
+        private final BudgetManager manager;
+        private final boolean isReporting;
+        private int coveredSegment = 0;
+        private boolean hasOlderExpenses = false;
+        private Budget currentBudget = null;
+
+        private Applier(BudgetManager manager, boolean isReporting) {
+            this.manager = manager;
+            this.isReporting = isReporting;
+        }
+
+        private void apply(List<ParsedLine> chunk) {
+            for (ParsedLine parsed : chunk) {
+                try {
+                    apply(parsed);
+                } catch (Exception e) {
+                    if (isReporting) {
+                        System.out.println("Skipping corrupted line: \"" + parsed.line + "\" (" + e.getMessage()
+                                + ")");
+                    }
+                }
+            }
+        }
+
+        private void apply(ParsedLine parsed) {
+            switch (parsed.kind) {
+            case JOURNAL:
+                coveredSegment = (int) parsed.number;
+                break;
+            case CATEGORY:
+                currentBudget = new Budget(parsed.name, parsed.number);
+                currentBudget.setPeriod(parsed.period);
+                manager.getBudgets().put(parsed.name, currentBudget);
+                break;
+            case THRESHOLD:
+                Budget budget = manager.getBudgets().get(parsed.name);
+                if (budget != null) {
+                    budget.addAlertThreshold(parsed.threshold);
+                }
+                break;
+            case RULE:
+                manager.restoreRecurringRule(parsed.rule);
+                break;
+            case EXPENSE:
+                if (currentBudget == null) {
+                    break;
+                }
+                if (parsed.name == null) {
+                    // Older format: the expense is listed under each budget holding it
+                    currentBudget.addExpense(parsed.expense);
+                    hasOlderExpenses = true;
+                } else {
+                    manager.getBudgets().get("Overall").addExpense(parsed.expense);
+                    Budget category = manager.getBudgets().get(parsed.name);
+                    if (!parsed.name.isEmpty() && category != null) {
+                        category.addExpense(parsed.expense);
+                    }
+                }
+                break;
+            case ALERT:
+                manager.getBudgetAlert().restoreAlert(parsed.number);
+                break;
+            case CORRUPTED:
+                throw new IllegalArgumentException(parsed.error);
+            default:
+                break;
+            }
+        }
+    }
+
+    /**
+     * Reads a file in chunks of whole lines.
+     */
+    private static class ChunkReader {
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+        private boolean isAtEnd = false;
+
+        private ChunkReader(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Reads the next chunk, which ends just after a newline unless it is the end of the file.
+         * A line longer than the buffer makes the buffer grow until the line fits.
+         *
+         * @return The bytes of the chunk, or null at the end of the file.
+         */
+        private byte[] next() throws IOException {
+            while (true) {
+                while (!isAtEnd && buffer.hasRemaining()) {
+                    isAtEnd = channel.read(buffer) < 0;
+                }
+                int end = buffer.position();
+                while (!isAtEnd && end > 0 && buffer.get(end - 1) != '\n') {
+                    end--;
+                }
+                if (end > 0 || isAtEnd) {
+                    return (end == 0) ? null : take(end);
+                }
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.flip());
+            }
+        }
+
+        private byte[] take(int length) {
+            byte[] chunk = new byte[length];
+            buffer.flip();
+            buffer.get(chunk);
+            buffer.compact();
+            return chunk;
+        }
+    }
+
+    /**
+     * Loads the text snapshot file into the manager.
+     *
+     * @param manager     The BudgetManager to load into.
+     * @param file        The snapshot file.
+     * @param isReporting Whether to print a notice for each corrupted line that is skipped.
+     * @return The newest journal segment already folded into the snapshot, 0 if none.
+     * @throws IOException If the file cannot be read.
+     */
+    public static int load(BudgetManager manager, File file, boolean isReporting) throws IOException {
+        Applier applier = new Applier(manager, isReporting);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ChunkReader reader = new ChunkReader(channel);
+            if (channel.size() < PARALLEL_THRESHOLD) {
+                for (byte[] chunk = reader.next(); chunk != null; chunk = reader.next()) {
+                    applier.apply(parseChunk(chunk));
+                }
+            } else {
+                loadInParallel(reader, applier);
+            }
+        }
+
+        if (applier.hasOlderExpenses) {
+            StorageManager.upgradeOlderFormat(manager);
+        }
+        return applier.coveredSegment;
+    }
+
+    /**
+     * Parses chunks in the background while reading ahead, and applies them in file order.
+     */
+    private static void loadInParallel(ChunkReader reader, Applier applier) throws IOException {
+        int maxPending = Runtime.getRuntime().availableProcessors() * 2;
+        Deque<CompletableFuture<List<ParsedLine>>> pending = new ArrayDeque<>();
+        for (byte[] chunk = reader.next(); chunk != null; chunk = reader.next()) {
+            byte[] bytes = chunk;
+            pending.add(CompletableFuture.supplyAsync(() -> parseChunk(bytes)));
+            if (pending.size() >= maxPending) {
+                applier.apply(pending.poll().join());
+            }
+        }
+        while (!pending.isEmpty()) {
+            applier.apply(pending.poll().join());
+        }
+    }
+
+    private static List<ParsedLine> parseChunk(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8).lines()
+                .map(TextSnapshotLoader::parseLine)
+                .collect(Collectors.toList());
+    }
+
+    private static ParsedLine parseLine(String line) {
+        try {
+            if (line.startsWith("JOURNAL:")) {
+                ParsedLine parsed = new ParsedLine(Kind.JOURNAL, line);
+                parsed.number = Integer.parseInt(line.substring(8));
+                return parsed;
+
+            } else if (line.startsWith("CATEGORY:")) {
+                String[] parts = line.split("\\|LIMIT:");
+                String[] limitAndPeriod = parts[1].split("\\|PERIOD:");
+                ParsedLine parsed = new ParsedLine(Kind.CATEGORY, line);
+                parsed.name = StringPool.intern(parts[0].substring(9));
+                parsed.number = Money.toDollars(Money.parseCents(limitAndPeriod[0]));
+                parsed.period = (limitAndPeriod.length < 2) ? BudgetPeriod.NONE
+                        : BudgetPeriod.fromString(limitAndPeriod[1]);
+                return parsed;
+
+            } else if (line.startsWith("THRESHOLD:")) {
+                int separator = line.lastIndexOf('|');
+                ParsedLine parsed = new ParsedLine(Kind.THRESHOLD, line);
+                parsed.name = line.substring(10, separator);
+                parsed.threshold = AlertThreshold.parse(line.substring(separator + 1));
+                return parsed;
+
+            } else if (line.startsWith("RULE:")) {
+                String[] parts = line.substring(5).split("\\|", -1);
+                if (parts.length < 9) {
+                    throw new IllegalArgumentException("Incomplete recurring rule line");
+                }
+                ParsedLine parsed = new ParsedLine(Kind.RULE, line);
+                parsed.rule = Journal.parseRule(parts);
+                parsed.rule.setGeneratedCount(Integer.parseInt(parts[8]));
+                return parsed;
+
+            } else if (line.startsWith("EXPENSE:")) {
+                String[] parts = line.substring(8).split("\\|", -1);
+                if (parts.length != 3 && parts.length != 5) {
+                    throw new IllegalArgumentException("Incomplete expense line");
+                }
+                long amountCents = Money.parseCents(parts[0]);
+                String description = parts[1];
+                String timeStamp = parts[2];
+                LocalDateTime dateTime = DateTimeParser.parseOrDefault(timeStamp, true);
+                ParsedLine parsed = new ParsedLine(Kind.EXPENSE, line);
+                if (parts.length == 3) {
+                    // Older format, with no category or id
+                    parsed.expense = Expense.fromCents(amountCents, description, dateTime);
+                } else {
+                    parsed.expense = Expense.withId(Long.parseLong(parts[4]), amountCents, description, dateTime);
+                    parsed.name = StringPool.intern(parts[3]);
+                }
+                return parsed;
+
+            } else if (line.startsWith("ALERT:")) {
+                ParsedLine parsed = new ParsedLine(Kind.ALERT, line);
+                parsed.number = Money.toDollars(Money.parseCents(line.substring(6)));
+                return parsed;
+            }
+            return new ParsedLine(Kind.OTHER, line);
+        } catch (Exception e) {
+            ParsedLine parsed = new ParsedLine(Kind.CORRUPTED, line);
+            parsed.error = e.getMessage();
+            return parsed;
+        }
+    }
+}
@@ -66,6 +66,8 @@ public class InputManager {
         while (!isExit) {
             try {
                 line = in.nextLine().trim();
+                // Recurring expenses that came due since the last command are added before it runs
+                budgetManager.expandRecurringExpenses();
                 Command c = inputParser.parseInput(line);
                 c.execute(budgetManager);
                 isExit = c.isExit();
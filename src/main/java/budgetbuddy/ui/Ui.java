@@ -1,11 +1,18 @@
 package budgetbuddy.ui;
 
 import budgetbuddy.model.Budget;
+import budgetbuddy.model.BudgetPeriod;
 import budgetbuddy.model.Expense;
+import budgetbuddy.model.Money;
+import budgetbuddy.model.RecurringRule;
 import budgetbuddy.parser.DateTimeParser;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 
@@ -77,8 +84,19 @@ public class Ui {
 
         System.out.println("\nAdd Recurring Expense: add-recurring");
         System.out.println("Format: add-recurring [AMOUNT] c/[CATEGORY] d/[DESCRIPTION] t/[TIME]" +
-                " f/[FREQUENCY] i/[ITERATIONS]");
-        System.out.println("Examples: add-recurring 20 c/Food d/Lunch t/Apr 24 2025 at 12:00 f/30 i/5");
+                " f/[FREQUENCY] i/[ITERATIONS] u/[END_TIME]");
+        System.out.println("Examples: add-recurring 20 c/Food d/Lunch t/Apr 24 2025 at 12:00 f/30 i/5" +
+                "\n          add-recurring 1200 c/Rent d/Rent t/Jan 01 2025 at 09:00 f/monthly" +
+                "\n          add-recurring 50 c/Fun d/Movies t/Jan 01 2025 at 19:00 f/FREQ=MONTHLY;BYDAY=-1FR");
+
+        System.out.println("\nList Recurring Expenses: list-recurring");
+        System.out.println("Format: list-recurring start/[START_TIME] end/[END_TIME]");
+        System.out.println("Examples: list-recurring" +
+                "\n          list-recurring start/Jan 01 2026 at 00:00 end/Dec 31 2026 at 23:59");
+
+        System.out.println("\nStop Recurring Expense: delete-recurring");
+        System.out.println("Format: delete-recurring [INDEX]");
+        System.out.println("Examples: delete-recurring 1");
 
         System.out.println("\nDelete Expense: delete");
         System.out.println("Format: delete [INDEX]");
@@ -97,9 +115,11 @@ public class Ui {
 
         System.out.println("\nSet Budget: set-budget");
         System.out.println("Format: set-budget [AMOUNT] " +
-                "\n          set-budget c/[CATEGORY] [AMOUNT]");
+                "\n          set-budget c/[CATEGORY] [AMOUNT]" +
+                "\n          set-budget c/[CATEGORY] [AMOUNT] p/[daily|weekly|monthly|none]");
         System.out.println("Examples: set-budget 1000" +
-                "\n          set-budget c/Food 300");
+                "\n          set-budget c/Food 300" +
+                "\n          set-budget c/Food 50 p/weekly");
 
         System.out.println("\nCheck Budget: check-budget");
         System.out.println("Format: check-budget c/[CATEGORY]");
@@ -126,10 +146,31 @@ public class Ui {
         System.out.println("Format: delete-alert");
         System.out.println("Example: delete-alert");
 
+        System.out.println("\nAdd Alert Threshold: add-alert");
+        System.out.println("Format: add-alert c/[CATEGORY] [AMOUNT or PERCENT%]");
+        System.out.println("Examples: add-alert 500" +
+                "\n          add-alert c/Food 80%");
+
+        System.out.println("\nClear Alert Thresholds: clear-alerts");
+        System.out.println("Format: clear-alerts c/[CATEGORY]");
+        System.out.println("Examples: clear-alerts" +
+                "\n          clear-alerts c/Food");
+
         System.out.println("\nFind Expenses: find");
-        System.out.println("Format: find [KEYWORD]");
+        System.out.println("Format: find [KEYWORD] [MORE_KEYWORDS]");
         System.out.println("Example: find coffee");
 
+        System.out.println("\nImport Expenses: import");
+        System.out.println("Format: import [FILE] a/[AMOUNT_COLUMN] d/[DESCRIPTION_COLUMN] t/[DATE_COLUMN]" +
+                " c/[CATEGORY_COLUMN] f/[DATE_PATTERN] s/[+ or -]");
+        System.out.println("Examples: import statement.csv" +
+                "\n          import bank.csv a/Debit d/Payee t/1 f/dd/MM/yyyy s/-");
+
+        System.out.println("\nExport Expenses: export");
+        System.out.println("Format: export [FILE] start/[START_TIME] end/[END_TIME]");
+        System.out.println("Examples: export expenses.csv" +
+                "\n          export april.json start/Apr 01 2025 at 00:00 end/Apr 30 2025 at 23:59");
+
         System.out.println("\nExit Program: bye");
         System.out.println("Format: bye");
         System.out.println("Example: bye");
@@ -199,6 +240,139 @@ public class Ui {
         printSeparator();
     }
 
+    /**
+     * Prints a recurring rule added by the add-recurring command.
+     *
+     * @param rule The rule added.
+     */
+    public static void printRecurringRuleAdded(RecurringRule rule) {
+        System.out.println("Recurring: " + formatRecurringRule(rule));
+        LocalDateTime next = rule.getNextOccurrence();
+        if (next != null) {
+            System.out.println("Next occurrence: " + next.format(DateTimeParser.DATETIME_FORMAT));
+        }
+    }
+
+    /**
+     * Prints every recurring rule with the date of its next occurrence.
+     *
+     * @param rules The recurring rules.
+     */
+    public static void printRecurringRules(List<RecurringRule> rules) {
+        printSeparator();
+        if (rules.isEmpty()) {
+            System.out.println("No recurring expenses found.");
+            printSeparator();
+            return;
+        }
+        System.out.println("Recurring Expenses:");
+        for (int i = 0; i < rules.size(); i++) {
+            RecurringRule rule = rules.get(i);
+            LocalDateTime next = rule.getNextOccurrence();
+            System.out.println((i + 1) + ". " + formatRecurringRule(rule) + " | next: "
+                    + (next == null ? "none" : next.format(DateTimeParser.DATETIME_FORMAT)));
+        }
+        printSeparator();
+    }
+
+    /**
+     * Prints how many times each recurring rule occurs between two times and how much they spend in total.
+     *
+     * @param rules      The recurring rules.
+     * @param from       The start of the window.
+     * @param to         The end of the window.
+     * @param totalCents The total spent by every rule in the window, in cents.
+     */
+    public static void printRecurringForecast(List<RecurringRule> rules, LocalDateTime from, LocalDateTime to,
+            long totalCents) {
+        printSeparator();
+        System.out.println("Recurring Expenses from " + from.format(DateTimeParser.DATETIME_FORMAT) + " to "
+                + to.format(DateTimeParser.DATETIME_FORMAT) + ":");
+        for (int i = 0; i < rules.size(); i++) {
+            RecurringRule rule = rules.get(i);
+            System.out.println((i + 1) + ". " + formatRecurringRule(rule) + " | " + rule.countBetween(from, to)
+                    + " time(s), $" + Money.toPlainString(rule.getCentsBetween(from, to)));
+        }
+        System.out.println("Total recurring spending: $" + Money.toPlainString(totalCents));
+        printSeparator();
+    }
+
+    public static void printDeleteRecurringRule(RecurringRule rule) {
+        printSeparator();
+        System.out.println("Recurring expense stopped: " + formatRecurringRule(rule));
+        System.out.println("Expenses it already added are kept.");
+        printSeparator();
+    }
+
+    private static String formatRecurringRule(RecurringRule rule) {
+        StringBuilder text = new StringBuilder();
+        text.append("$").append(Money.toPlainString(rule.getAmountCents())).append(" for ")
+                .append(rule.getDescription());
+        if (!rule.getCategory().isEmpty()) {
+            text.append(" (").append(rule.getCategory()).append(")");
+        }
+        text.append(", ").append(rule.getRecurrence().describe()).append(" from ")
+                .append(rule.getStart().format(DateTimeParser.DATETIME_FORMAT));
+        if (rule.getCount() > 0) {
+            text.append(", ").append(rule.getCount()).append(" time(s)");
+        }
+        if (rule.getUntil() != null) {
+            text.append(", until ").append(rule.getUntil().format(DateTimeParser.DATETIME_FORMAT));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Prints a message confirming that an alert threshold was added to a budget.
+     *
+     * @param category  The budget the threshold belongs to.
+     * @param threshold The threshold, such as "80%" or "50.00".
+     * @param isActive  Whether the threshold can be reached; a percentage needs a budget limit.
+     */
+    public static void printAddAlertThreshold(String category, String threshold, boolean isActive) {
+        printSeparator();
+        System.out.println("Alert added for the " + category + " budget at " + threshold + ".");
+        if (!isActive) {
+            System.out.println("It will apply once the " + category + " budget has a limit.");
+        }
+        printSeparator();
+    }
+
+    public static void printAlertThresholdExists(String category, String threshold) {
+        printSeparator();
+        System.out.println("The " + category + " budget already has an alert at " + threshold + ".");
+        printSeparator();
+    }
+
+    public static void printClearAlertThresholds(String category) {
+        printSeparator();
+        System.out.println("All alerts of the " + category + " budget have been removed.");
+        printSeparator();
+    }
+
+    /**
+     * Prints a notice when the spending of a budget reaches one of its alert thresholds.
+     *
+     * @param category  The budget whose threshold was reached.
+     * @param threshold The threshold, such as "80%" or "50.00".
+     * @param spent     The spending of the budget's current period.
+     */
+    public static void printAlertThresholdReached(String category, String threshold, double spent) {
+        System.out.println("Alert: spending in the '" + category + "' budget ($" + String.format("%.2f", spent)
+                + ") has reached your alert at " + threshold);
+        printSeparator();
+    }
+
+    /**
+     * Prints the alert thresholds of a budget, below its budget check.
+     *
+     * @param thresholds The thresholds, each marked if already reached.
+     */
+    public static void printAlertThresholds(List<String> thresholds) {
+        System.out.println("Alerts: " + String.join(", ", thresholds));
+        printSeparator();
+    }
+
     /**
      * Prints a message when no expenses have been recorded yet.
      *
@@ -212,14 +386,13 @@ public class Ui {
 
 
     /**
-     * Prints a list of all recorded expenses.
+     * Prints a list of all recorded expenses, most recent first.
      *
-     * @param expenses A list of expenses to be displayed.
+     * @param expenses A list of expenses to be displayed, in time order.
      */
     public static void printExpensesList(ArrayList<Expense> expenses) {
         printSeparator();
         System.out.println("Expense List:");
-        expenses.sort((e1, e2) -> e1.getDateTime().compareTo(e2.getDateTime()));
         for (int i = expenses.size() - 1; i >= 0; i--) {
             System.out.println((expenses.size() - i) + ". " + expenses.get(i));
         }
@@ -228,10 +401,11 @@ public class Ui {
 
     /**
      * Prints a list of all recorded expenses in a date and time range.
+     * Only the expenses in the range are visited, found by a binary search on the budget's time order.
      *
-     * @param expenses A list of expenses to be displayed.
+     * @param budget The budget whose expenses are to be displayed.
      */
-    public static void printExpensesList(ArrayList expenses, String start, String end) {
+    public static void printExpensesList(Budget budget, String start, String end) {
 
         boolean bypassStart = start.isBlank();
         //if no start date provided
@@ -279,20 +453,14 @@ public class Ui {
             }
         }
 
+        ArrayList<Expense> expenses = budget.getExpenses();
+        int from = bypassStart ? 0 : (startDate != null ? budget.findFirstExpenseFrom(startDate) : expenses.size());
+        int to = bypassEnd ? expenses.size() : (endDate != null ? budget.findFirstExpenseAfter(endDate) : 0);
+
         printSeparator();
         System.out.println("Expense List:");
-        for (int i = expenses.size() - 1; i >= 0; i--) {
-            Expense expense = (Expense) expenses.get(i);
-            LocalDateTime expenseDateTime = DateTimeParser.parseOrDefault(expense.getDateTimeString(), true);
-
-            boolean happensAfterStart = bypassStart || (startDate != null &&
-                    (expenseDateTime.isEqual(startDate) || expenseDateTime.isAfter(startDate)));
-            boolean happensBeforeEnd = bypassEnd || (endDate != null &&
-                    (expenseDateTime.isEqual(endDate) || expenseDateTime.isBefore(endDate)));
-
-            if (happensAfterStart && happensBeforeEnd) {
-                System.out.println((expenses.size() - i) + ". " + expenses.get(i));
-            }
+        for (int i = to - 1; i >= from; i--) {
+            System.out.println((expenses.size() - i) + ". " + expenses.get(i));
         }
 
         printSeparator();
@@ -313,11 +481,13 @@ public class Ui {
     }
 
     /**
-     * Prints a summary of all budgets and their expenses.
+     * Prints a summary of all budgets and their expenses, including what was spent this month
+     * and in the last 7 days, today included.
      *
      * @param budgets A map containing budget categories and their associated budgets.
      */
     public static void printBudgetSummary(Map<String, Budget> budgets) {
+        LocalDate today = LocalDate.now();
         printSeparator();
         System.out.println("Budget Summary:");
 
@@ -328,6 +498,8 @@ public class Ui {
                 Budget budget = budgets.get(category);
                 System.out.println("\nCategory: " + category);
                 System.out.println("Total Expenses: $" + budget.getTotalExpenses());
+                System.out.println("Spent This Month: $" + budget.getSpentInMonth(YearMonth.from(today)));
+                System.out.println("Spent Last 7 Days: $" + budget.getSpentBetween(today.minusDays(6), today));
                 System.out.println("Remaining Budget: $" + budget.getRemainingBudget());
                 System.out.println("Spending Limit: $" + budget.getLimit());
             }
@@ -340,13 +512,70 @@ public class Ui {
     /**
      * Prints a message indicating that an expense has been successfully updated.
      *
-     * @param expenses The list of all expenses, which contains the expense that was updated.
-     * @param index    The index of the expense in the list that was updated.
+     * @param expense The expense that was updated.
+     * @param index   The index the expense had in the list before it was updated.
      */
-    public static void printExpenseEditedMessage(ArrayList<Expense> expenses, int index) {
+    public static void printExpenseEditedMessage(Expense expense, int index) {
         printSeparator();
         System.out.println("Got it, the expense at index " + index + " has been updated!");
-        System.out.println("Updated expense -> " + expenses.get(expenses.size() - index));
+        System.out.println("Updated expense -> " + expense);
+        printSeparator();
+    }
+
+    /**
+     * Prints how many rows of a file have been imported so far.
+     *
+     * @param rows The number of rows read.
+     */
+    public static void printImportProgress(int rows) {
+        System.out.println("Read " + rows + " rows...");
+    }
+
+    /**
+     * Prints a row of an imported file that could not be read.
+     *
+     * @param row    The number of the row in the file, 1 for the header.
+     * @param reason Why the row was skipped.
+     */
+    public static void printImportSkippedRow(int row, String reason) {
+        System.out.println("Skipping row " + row + ": " + reason);
+    }
+
+    /**
+     * Prints the outcome of an import.
+     *
+     * @param imported          The number of expenses imported.
+     * @param skipped           The number of rows skipped.
+     * @param credits           The number of credit rows, which were not imported.
+     * @param unknownCategories The categories without a budget, whose expenses were only added to Overall.
+     */
+    public static void printImportSummary(int imported, int skipped, int credits,
+            Collection<String> unknownCategories) {
+        printSeparator();
+        System.out.println("Imported " + imported + " expense(s).");
+        if (skipped > 0) {
+            System.out.println("Skipped " + skipped + " row(s) that could not be read.");
+        }
+        if (credits > 0) {
+            System.out.println("Skipped " + credits + " credit row(s), such as refunds."
+                    + " If spending has the other sign in this file, import it with s/+ or s/-.");
+        }
+        if (!unknownCategories.isEmpty()) {
+            System.out.println("No budget found for: " + String.join(", ", unknownCategories)
+                    + ". Those expenses were added to the Overall Budget only.");
+        }
+        printSeparator();
+    }
+
+    /**
+     * Prints the outcome of an export.
+     *
+     * @param exported The number of expenses exported.
+     * @param fileName The file they were written to.
+     */
+    public static void printExportSummary(int exported, String fileName) {
+        printSeparator();
+        System.out.println("Exported " + exported + " expense(s) to " + fileName + ".");
         printSeparator();
     }
 
@@ -380,6 +609,12 @@ public class Ui {
         printSeparator();
     }
 
+    public static void printSetBudgetPeriod(String category, String period) {
+        printSeparator();
+        System.out.println("The " + category + " budget now applies to each period: " + period);
+        printSeparator();
+    }
+
     public static void printDeleteExpenseCategory(String category) {
         printSeparator();
         System.out.println("Expense also deleted from category '" + category + "'.");
@@ -390,15 +625,20 @@ public class Ui {
      * Prints the budget summary for a specific category or overall budget.
      *
      * @param category    The budget category to check (empty string for overall budget)
+     * @param period      The label of the budget period, "None" for a budget over all time
      * @param totalBudget The Budget object containing the budget information
      */
-    public static void printCheckBudget(String category, double totalBudget, double spent, double remaining) {
+    public static void printCheckBudget(String category, String period, double totalBudget, double spent,
+            double remaining) {
         printSeparator();
         if (category == null || category.trim().isEmpty()) {
             System.out.println("Overall Budget:");
         } else {
             System.out.println("Budget for " + category);
         }
+        if (!period.equals(BudgetPeriod.NONE.getLabel())) {
+            System.out.println("Period: " + period + " (spending so far in the current period)");
+        }
 
         System.out.println("\nTotal Budget: $" + String.format("%.2f", totalBudget));
         System.out.println("Spent: $" + String.format("%.2f", spent));
@@ -2,10 +2,21 @@ package budgetbuddy;
 
 import budgetbuddy.model.Budget;
 import budgetbuddy.model.BudgetManager;
+import budgetbuddy.model.BudgetPeriod;
+import budgetbuddy.model.Expense;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import budgetbuddy.exception.InvalidInputException;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -129,4 +140,98 @@ public class BudgetManagerTest {
         );
     }
 
+    @Test
+    public void testDeleteExpense_categoryExpense_removedFromCategoryAndIndex() throws InvalidInputException {
+        budgetManager.setBudget("Food", 500);
+        budgetManager.addExpenseToBudget("Food", 50, "Lunch", "Oct 05 2025 at 12:30");
+        Expense lunch = budgetManager.getBudgets().get("Overall").getExpenses().get(0);
+        assertEquals(lunch, budgetManager.getExpenseById(lunch.getId()), "Expense should be found by its id");
+
+        budgetManager.deleteExpense(1);
+
+        assertNull(budgetManager.getExpenseById(lunch.getId()), "Deleted expense should no longer be found");
+        assertEquals(0, budgetManager.getBudgets().get("Food").getExpenses().size(),
+                "Expense should be removed from its category");
+        assertEquals(0, budgetManager.getBudgets().get("Food").getTotalExpenses(),
+                "Food budget total expenses should be 0");
+    }
+
+    @Test
+    public void testLimitWarning_printedOncePerCrossing() throws InvalidInputException {
+        budgetManager.setBudget("Food", 50);
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        try {
+            budgetManager.addExpenseToBudget("Food", 60, "Groceries", "Oct 05 2025 at 12:30");
+            budgetManager.addExpenseToBudget("Food", 5, "Snack", "Oct 06 2025 at 12:30");
+            assertEquals(1, countOccurrences(output.toString(), "have exceeded the budget limit"),
+                    "Warning should only be printed when the limit is first crossed");
+
+            budgetManager.deleteExpense(1);
+            budgetManager.deleteExpense(1);
+            budgetManager.addExpenseToBudget("Food", 70, "Dinner", "Oct 07 2025 at 19:00");
+            assertEquals(2, countOccurrences(output.toString(), "have exceeded the budget limit"),
+                    "Warning should be printed again after spending dropped below the limit");
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+
+    @Test
+    public void testLimitWarning_newPeriod_printedAgain() {
+        budgetManager.setBudget("Food", 50);
+        Budget food = budgetManager.getBudgets().get("Food");
+        String now = LocalDateTime.now().format(DateTimeFormatter.ofPattern("MMM dd yyyy 'at' HH:mm", Locale.ENGLISH));
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        try {
+            budgetManager.addExpenseToBudget("Food", 60, "Groceries", now);
+            food.setPeriod(BudgetPeriod.MONTHLY);
+            food.checkLimit();
+        } finally {
+            System.setOut(originalOut);
+        }
+        assertEquals(2, countOccurrences(output.toString(), "have exceeded the budget limit"),
+                "A crossing reported for an earlier period should be reported again in the new one");
+    }
+
+    @Test
+    public void testAddExpenses_unorderedBatch_sortedAndCheckedOnce() {
+        budgetManager.setBudget("Food", 50);
+        Map<String, List<Expense>> batch = new LinkedHashMap<>();
+        batch.put("Food", List.of(new Expense(30, "Dinner", "Oct 07 2025 at 19:00"),
+                new Expense(30, "Lunch", "Oct 05 2025 at 12:30")));
+        batch.put("Unknown", List.of(new Expense(10, "Bus", "Oct 06 2025 at 08:00")));
+
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        try {
+            assertEquals(3, budgetManager.addExpenses(batch));
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        Budget overall = budgetManager.getBudgets().get("Overall");
+        Budget food = budgetManager.getBudgets().get("Food");
+        assertEquals(7000, overall.getTotalCents());
+        assertEquals(6000, food.getTotalCents());
+        assertEquals("Lunch", overall.getExpenses().get(0).getDescription(), "Expenses should be in time order");
+        assertEquals("Bus", overall.getExpenses().get(1).getDescription());
+        assertEquals("Lunch", food.getExpenses().get(0).getDescription());
+        assertEquals(1, countOccurrences(output.toString(), "have exceeded the budget limit"),
+                "The limit should be checked once for the whole batch");
+        assertEquals(0, countOccurrences(output.toString(), "Expense Added"),
+                "Nothing should be printed for each expense");
+    }
+
+    private static int countOccurrences(String text, String pattern) {
+        int count = 0;
+        for (int i = text.indexOf(pattern); i >= 0; i = text.indexOf(pattern, i + 1)) {
+            count++;
+        }
+        return count;
+    }
 }
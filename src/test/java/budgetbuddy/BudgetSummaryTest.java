@@ -56,4 +56,15 @@ public class BudgetSummaryTest {
         assertTrue(output.contains("Spending Limit: $300"), "Output should show the Transport category " +
                 "budget limit of 300");
     }
+
+    @Test
+    public void testSummariseBudget_recentExpenses_periodTotalsPrinted() {
+        budgetManager.addExpenseToBudget("", 12.5, "Lunch", "");
+
+        budgetSummary.summariseBudget();
+        String output = outputStream.toString();
+
+        assertTrue(output.contains("Spent This Month: $12.5"), "Output should show this month's spending");
+        assertTrue(output.contains("Spent Last 7 Days: $12.5"), "Output should show the last 7 days' spending");
+    }
 }
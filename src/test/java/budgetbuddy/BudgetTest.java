@@ -2,10 +2,15 @@ package budgetbuddy;
 
 import budgetbuddy.exception.InvalidInputException;
 import budgetbuddy.model.Budget;
+import budgetbuddy.model.BudgetPeriod;
 import budgetbuddy.model.Expense;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -63,6 +68,112 @@ class BudgetTest {
         assertEquals(50.0, budget.getTotalExpenses(), 0.01);
     }
 
+    @Test
+    void testGetTotalExpenses_afterDelete_totalUpdated() throws InvalidInputException {
+        budget.addExpense(expense1);
+        budget.addExpense(expense2);
+        budget.deleteExpense(1);
+        assertEquals(20.0, budget.getTotalExpenses(), 0.01);
+    }
+
+    @Test
+    void testGetTotalExpenses_afterEdit_totalUpdatedInEveryBudget() {
+        Budget overall = new Budget("Overall", 0);
+        budget.addExpense(expense1);
+        overall.addExpense(expense1);
+        expense1.editExpense("45", "", "");
+        assertEquals(45.0, budget.getTotalExpenses(), 0.01);
+        assertEquals(45.0, overall.getTotalExpenses(), 0.01);
+    }
+
+    @Test
+    void testGetTotalCents_manySmallAmounts_noRoundingDrift() {
+        Budget small = new Budget("Snacks", 0.3);
+        for (int i = 0; i < 1000; i++) {
+            small.addExpense(new Expense(0.1, "Gum"));
+        }
+        assertEquals(10000, small.getTotalCents());
+        assertEquals(100.0, small.getTotalExpenses());
+    }
+
+    @Test
+    void testGetRemainingBudget_spentExactlyLimit_returnsZero() {
+        Budget small = new Budget("Snacks", 0.3);
+        small.addExpense(new Expense(0.1, "Gum"));
+        small.addExpense(new Expense(0.2, "Candy"));
+        assertEquals(0.0, small.getRemainingBudget());
+    }
+
+    @Test
+    void testAddExpense_outOfOrder_keptInTimeOrder() {
+        Expense march = new Expense(10.0, "March", LocalDateTime.of(2025, 3, 1, 12, 0));
+        Expense january = new Expense(10.0, "January", LocalDateTime.of(2025, 1, 1, 12, 0));
+        Expense february = new Expense(10.0, "February", LocalDateTime.of(2025, 2, 1, 12, 0));
+        budget.addExpense(march);
+        budget.addExpense(january);
+        budget.addExpense(february);
+        assertEquals(january, budget.getExpenses().get(0));
+        assertEquals(february, budget.getExpenses().get(1));
+        assertEquals(march, budget.getExpenses().get(2));
+    }
+
+    @Test
+    void testEditExpense_newDate_movedInEveryBudget() {
+        Budget overall = new Budget("Overall", 0);
+        Expense january = new Expense(10.0, "January", LocalDateTime.of(2025, 1, 1, 12, 0));
+        Expense february = new Expense(10.0, "February", LocalDateTime.of(2025, 2, 1, 12, 0));
+        for (Budget b : new Budget[]{budget, overall}) {
+            b.addExpense(january);
+            b.addExpense(february);
+        }
+        january.editExpense("", "", "Apr 01 2025 at 12:00");
+        assertEquals(january, budget.getExpenses().get(1));
+        assertEquals(january, overall.getExpenses().get(1));
+    }
+
+    @Test
+    void testFindFirstExpense_dateRange_boundsInclusiveToTheMinute() {
+        budget.addExpense(new Expense(10.0, "January", LocalDateTime.of(2025, 1, 1, 12, 0, 30)));
+        budget.addExpense(new Expense(10.0, "February", LocalDateTime.of(2025, 2, 1, 12, 0)));
+        budget.addExpense(new Expense(10.0, "March", LocalDateTime.of(2025, 3, 1, 12, 0)));
+        assertEquals(0, budget.findFirstExpenseFrom(LocalDateTime.of(2025, 1, 1, 12, 0)));
+        assertEquals(1, budget.findFirstExpenseAfter(LocalDateTime.of(2025, 1, 1, 12, 0)));
+        assertEquals(1, budget.findFirstExpenseFrom(LocalDateTime.of(2025, 1, 15, 0, 0)));
+        assertEquals(3, budget.findFirstExpenseAfter(LocalDateTime.of(2025, 3, 1, 12, 0)));
+    }
+
+    @Test
+    void testRollup_addEditDelete_monthAndDayTotalsUpdated() throws InvalidInputException {
+        Expense first = new Expense(10.0, "First", LocalDateTime.of(2025, 1, 30, 12, 0));
+        Expense second = new Expense(5.0, "Second", LocalDateTime.of(2025, 2, 2, 12, 0));
+        budget.addExpense(first);
+        budget.addExpense(second);
+        assertEquals(10.0, budget.getSpentInMonth(YearMonth.of(2025, 1)));
+        assertEquals(15.0, budget.getSpentBetween(LocalDate.of(2025, 1, 27), LocalDate.of(2025, 2, 2)));
+
+        first.editExpense("12", "", "Feb 01 2025 at 09:00");
+        assertEquals(0.0, budget.getSpentInMonth(YearMonth.of(2025, 1)));
+        assertEquals(17.0, budget.getSpentInMonth(YearMonth.of(2025, 2)));
+
+        budget.deleteExpense(1);
+        assertEquals(12.0, budget.getSpentBetween(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 7)));
+    }
+
+    @Test
+    void testPeriod_monthly_onlyCurrentMonthCounts() {
+        LocalDateTime now = LocalDateTime.now();
+        budget.addExpense(new Expense(60.0, "Last year", now.minusYears(1)));
+        budget.addExpense(new Expense(20.0, "Now", now));
+        assertEquals(20.0, budget.getRemainingBudget(), 0.01);
+
+        budget.setPeriod(BudgetPeriod.MONTHLY);
+        assertEquals(20.0, budget.getPeriodSpent(), 0.01);
+        assertEquals(80.0, budget.getRemainingBudget(), 0.01);
+
+        budget.setPeriod(BudgetPeriod.NONE);
+        assertEquals(80.0, budget.getPeriodSpent(), 0.01);
+    }
+
     @Test
     void testValidSetLimit() {
         budget.setLimit(200.0);
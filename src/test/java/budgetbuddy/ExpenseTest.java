@@ -1,12 +1,15 @@
 package budgetbuddy;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import budgetbuddy.model.Expense;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
+
 public class ExpenseTest {
 
     @Test
@@ -54,4 +57,24 @@ public class ExpenseTest {
         assertTrue(result.contains("Dinner"), "The string should contain the description");
     }
 
+    @Test
+    public void testWithId_savedId_keptAndNotGivenOutAgain() {
+        long savedId = new Expense(1.00, "Bus").getId() + 1000;
+
+        Expense restored = Expense.withId(savedId, 250, "Bus", LocalDateTime.of(2025, 4, 1, 8, 0));
+        Expense next = new Expense(1.00, "Bus");
+
+        assertEquals(savedId, restored.getId());
+        assertTrue(next.getId() > savedId, "New expenses should get ids after the restored one");
+    }
+
+    @Test
+    public void testDescription_equalDescriptions_shareOneInstance() {
+        Expense first = new Expense(5.00, new String("Lunch"));
+        Expense second = new Expense(6.00, new String("Lunch"));
+
+        assertSame(first.getDescription(), second.getDescription(),
+                "Equal descriptions should be pooled into one instance");
+    }
+
 }
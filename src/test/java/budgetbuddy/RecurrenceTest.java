@@ -0,0 +1,89 @@
+package budgetbuddy;
+
+import budgetbuddy.model.Recurrence;
+import budgetbuddy.model.RecurringRule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecurrenceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 31, 9, 0); // A Friday
+
+    @Test
+    void getOccurrence_monthly_keepsStartDayAfterShortMonth() {
+        Recurrence monthly = Recurrence.parse("monthly");
+
+        assertEquals(LocalDateTime.of(2025, 2, 28, 9, 0), monthly.getOccurrence(START, 1));
+        assertEquals(LocalDateTime.of(2025, 3, 31, 9, 0), monthly.getOccurrence(START, 2));
+        assertEquals(LocalDateTime.of(2026, 1, 31, 9, 0), monthly.getOccurrence(START, 12));
+    }
+
+    @Test
+    void getOccurrence_monthDayBeforeStart_startsNextMonth() {
+        Recurrence firstOfMonth = Recurrence.parse("FREQ=MONTHLY;BYMONTHDAY=1");
+
+        assertEquals(LocalDateTime.of(2025, 2, 1, 9, 0), firstOfMonth.getOccurrence(START, 0));
+        assertEquals(LocalDateTime.of(2025, 3, 1, 9, 0), firstOfMonth.getOccurrence(START, 1));
+    }
+
+    @Test
+    void getOccurrence_nthWeekday_fallsOnThatWeekday() {
+        Recurrence lastFriday = Recurrence.parse("RRULE:FREQ=MONTHLY;BYDAY=-1FR");
+        Recurrence secondTuesday = Recurrence.parse("FREQ=MONTHLY;BYDAY=2TU");
+
+        assertEquals(START, lastFriday.getOccurrence(START, 0));
+        assertEquals(LocalDateTime.of(2025, 2, 28, 9, 0), lastFriday.getOccurrence(START, 1));
+        assertEquals(LocalDateTime.of(2025, 2, 11, 9, 0), secondTuesday.getOccurrence(START, 0));
+    }
+
+    @Test
+    void getOccurrence_weeklyOnSeveralDays_skipsDaysBeforeStart() {
+        Recurrence mondayAndFriday = Recurrence.parse("FREQ=WEEKLY;BYDAY=FR,MO");
+
+        assertEquals(START, mondayAndFriday.getOccurrence(START, 0));
+        assertEquals(LocalDateTime.of(2025, 2, 3, 9, 0), mondayAndFriday.getOccurrence(START, 1));
+        assertEquals(LocalDateTime.of(2025, 2, 7, 9, 0), mondayAndFriday.getOccurrence(START, 2));
+        assertEquals("FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,FR", mondayAndFriday.toString());
+    }
+
+    @Test
+    void countUpTo_matchesWalkingOccurrences() {
+        String[] rules = {"FREQ=DAILY;INTERVAL=3", "FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE,SU", "FREQ=MONTHLY",
+            "FREQ=MONTHLY;INTERVAL=2;BYMONTHDAY=-1", "FREQ=MONTHLY;BYMONTHDAY=15", "FREQ=MONTHLY;BYDAY=1MO",
+            "FREQ=YEARLY", "FREQ=YEARLY;INTERVAL=3"};
+        for (String rule : rules) {
+            Recurrence recurrence = Recurrence.parse(rule);
+            assertEquals(recurrence, Recurrence.parse(recurrence.toString()));
+            for (int days = -3; days < 800; days += 7) {
+                LocalDateTime to = START.plusDays(days).plusHours(days % 2 == 0 ? -1 : 1);
+                long walked = 0;
+                while (!recurrence.getOccurrence(START, walked).isAfter(to)) {
+                    walked++;
+                }
+                assertEquals(walked, recurrence.countUpTo(START, to), rule + " up to " + to);
+            }
+        }
+    }
+
+    @Test
+    void getCentsBetween_countsOccurrencesInWindowWithinLimits() {
+        RecurringRule rent = new RecurringRule(1, "Rent", 120000, "Rent", LocalDateTime.of(2025, 1, 1, 9, 0),
+                Recurrence.parse("monthly"), 0, LocalDateTime.of(2034, 12, 31, 23, 59));
+
+        assertEquals(120, rent.countBetween(LocalDateTime.of(2000, 1, 1, 0, 0), LocalDateTime.of(2099, 1, 1, 0, 0)));
+        assertEquals(12 * 120000L, rent.getCentsBetween(LocalDateTime.of(2026, 1, 1, 0, 0),
+                LocalDateTime.of(2026, 12, 31, 23, 59)));
+        assertEquals(0, rent.countBetween(LocalDateTime.of(2026, 1, 2, 0, 0), LocalDateTime.of(2026, 1, 31, 0, 0)));
+    }
+
+    @Test
+    void parse_unsupportedRule_throws() {
+        assertThrows(IllegalArgumentException.class, () -> Recurrence.parse("hourly"));
+        assertThrows(IllegalArgumentException.class, () -> Recurrence.parse("FREQ=MONTHLY;BYDAY=5TU"));
+        assertThrows(IllegalArgumentException.class, () -> Recurrence.parse("FREQ=DAILY;BYDAY=MO"));
+    }
+}
@@ -0,0 +1,96 @@
+package budgetbuddy.command;
+
+import budgetbuddy.exception.InvalidInputException;
+import budgetbuddy.model.AlertThreshold;
+import budgetbuddy.model.Budget;
+import budgetbuddy.model.BudgetManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AddAlertCommandTest {
+
+    private BudgetManager budgetManager;
+    private final ByteArrayOutputStream outputStreamCaptor = new ByteArrayOutputStream();
+    private final PrintStream originalSystemOut = System.out;
+
+    @BeforeEach
+    public void setUp() {
+        budgetManager = new BudgetManager();
+        budgetManager.setBudget("Food", 100);
+        System.setOut(new PrintStream(outputStreamCaptor));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.setOut(originalSystemOut);
+    }
+
+    @Test
+    public void testExecute_percentageAndAmount_bothAdded() throws InvalidInputException {
+        new AddAlertCommand("add-alert c/Food 80%").execute(budgetManager);
+        new AddAlertCommand("add-alert c/Food 50").execute(budgetManager);
+
+        Budget food = budgetManager.getBudgets().get("Food");
+        assertEquals(2, food.getAlertThresholds().getThresholds().size());
+        assertEquals(8000, AlertThreshold.parse("80%").getValue());
+        assertEquals(80_00, AlertThreshold.parse("80%").resolveCents(food.getLimitCents()));
+    }
+
+    @Test
+    public void testAddExpense_thresholdsCrossed_eachReportedOnce() throws InvalidInputException {
+        new AddAlertCommand("add-alert c/Food 50%").execute(budgetManager);
+        new AddAlertCommand("add-alert c/Food 80%").execute(budgetManager);
+        outputStreamCaptor.reset();
+
+        budgetManager.addExpenseToBudget("Food", 60, "Groceries", "Jan 01 2025 at 10:00");
+        String output = outputStreamCaptor.toString();
+        assertTrue(output.contains("has reached your alert at 50%"));
+        assertFalse(output.contains("has reached your alert at 80%"));
+
+        outputStreamCaptor.reset();
+        budgetManager.addExpenseToBudget("Food", 25, "Dinner", "Jan 02 2025 at 19:00");
+        output = outputStreamCaptor.toString();
+        assertFalse(output.contains("has reached your alert at 50%"));
+        assertTrue(output.contains("has reached your alert at 80%"));
+    }
+
+    @Test
+    public void testDeleteExpense_spendingDrops_thresholdRearmed() throws InvalidInputException {
+        new AddAlertCommand("add-alert c/Food 50").execute(budgetManager);
+        budgetManager.addExpenseToBudget("Food", 60, "Groceries", "Jan 01 2025 at 10:00");
+        Budget food = budgetManager.getBudgets().get("Food");
+        assertTrue(food.getAlertThresholds().isReached(AlertThreshold.parse("50")));
+
+        budgetManager.deleteExpense(1);
+        assertFalse(food.getAlertThresholds().isReached(AlertThreshold.parse("50")));
+
+        outputStreamCaptor.reset();
+        budgetManager.addExpenseToBudget("Food", 55, "Groceries", "Jan 03 2025 at 10:00");
+        assertTrue(outputStreamCaptor.toString().contains("has reached your alert at 50.00"));
+    }
+
+    @Test
+    public void testClearAlerts_removesThresholds() throws InvalidInputException {
+        new AddAlertCommand("add-alert c/Food 80%").execute(budgetManager);
+        new ClearAlertsCommand("clear-alerts c/Food").execute(budgetManager);
+
+        assertTrue(budgetManager.getBudgets().get("Food").getAlertThresholds().isEmpty());
+    }
+
+    @Test
+    public void testExecute_invalidThreshold_throwsInvalidInputException() {
+        assertThrows(InvalidInputException.class, () -> new AddAlertCommand("add-alert c/Food abc%")
+                .execute(budgetManager));
+        assertThrows(InvalidInputException.class, () -> new AddAlertCommand("add-alert c/Food 0")
+                .execute(budgetManager));
+    }
+}
@@ -1,15 +1,20 @@
 package budgetbuddy.command;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import budgetbuddy.exception.InvalidInputException;
 import budgetbuddy.model.Budget;
 import budgetbuddy.model.BudgetManager;
 import budgetbuddy.model.Expense;
+import budgetbuddy.model.RecurringRule;
+import budgetbuddy.parser.DateTimeParser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -46,19 +51,63 @@ public class AddRecurringExpenseCommandTest {
     }
 
     @Test
-    public void testExecute_maxIterationsExceeded_shouldNotAdd() {
-        String description = "add-recurring 10 c/Overall d/OverLimitTest t/Apr 01 2025 at 10:00 f/5 i/12";
+    public void testExecute_moreThanTenIterations_allAdded() throws InvalidInputException {
+        String description = "add-recurring 10 c/Overall d/ManyTimes t/Apr 01 2025 at 10:00 f/5 i/12";
         addRecurringExpenseCommand = new AddRecurringExpenseCommand(description);
+        addRecurringExpenseCommand.execute(budgetManager);
 
-        try {
-            addRecurringExpenseCommand.execute(budgetManager);
-        } catch (InvalidInputException e) {
-            System.out.println("Expected exception for exceeding max iterations.");
-        }
+        List<Expense> expenses = budgetManager.getBudgets().get("Overall").getExpenses();
+        assertEquals(12, expenses.size(), "Every past occurrence should be added");
+        assertEquals(1, budgetManager.getRecurringRules().size(), "The expense should be stored as one rule");
+    }
 
-        Map<String, Budget> budgets = budgetManager.getBudgets();
-        assertTrue(!budgets.containsKey("Overall") || budgets.get("Overall").getExpenses().isEmpty(),
-                "No expenses should be added when iterations exceed the limit");
+    @Test
+    public void testExecute_noIterations_addsOnlyDueOccurrences() throws InvalidInputException {
+        String start = LocalDateTime.now().minusDays(2).format(DateTimeParser.DATETIME_FORMAT);
+        addRecurringExpenseCommand = new AddRecurringExpenseCommand("add-recurring 5 c/Overall d/Coffee t/" + start
+                + " f/1");
+        addRecurringExpenseCommand.execute(budgetManager);
+
+        assertEquals(3, budgetManager.getBudgets().get("Overall").getExpenses().size(),
+                "Only occurrences up to now should be added");
+        RecurringRule rule = budgetManager.getRecurringRules().get(0);
+        assertEquals(3, rule.getGeneratedCount());
+
+        assertEquals(2, budgetManager.expandRecurringExpenses(LocalDateTime.now().plusDays(2)));
+        assertEquals(5, budgetManager.getBudgets().get("Overall").getExpenses().size(),
+                "Later occurrences should be added as they come due");
+    }
+
+    @Test
+    public void testExecute_tooManyPastOccurrences_rejected() {
+        String start = LocalDateTime.now().minusDays(BudgetManager.MAX_PAST_OCCURRENCES + 10)
+                .format(DateTimeParser.DATETIME_FORMAT);
+        addRecurringExpenseCommand = new AddRecurringExpenseCommand("add-recurring 5 c/Overall d/Coffee t/" + start
+                + " f/1");
+
+        assertThrows(InvalidInputException.class, () -> addRecurringExpenseCommand.execute(budgetManager));
+        assertTrue(budgetManager.getRecurringRules().isEmpty(), "The rule should not be added");
+        assertTrue(budgetManager.getBudgets().get("Overall").getExpenses().isEmpty());
+    }
+
+    @Test
+    public void testExecute_longAgoStartWithFewIterations_added() throws InvalidInputException {
+        addRecurringExpenseCommand = new AddRecurringExpenseCommand(
+                "add-recurring 5 c/Overall d/Coffee t/Jan 01 2000 at 08:00 f/1 i/4");
+        addRecurringExpenseCommand.execute(budgetManager);
+
+        assertEquals(4, budgetManager.getBudgets().get("Overall").getExpenses().size());
+    }
+
+    @Test
+    public void testExecute_endDate_stopsOccurrences() throws InvalidInputException {
+        String description = "add-recurring 8 c/Overall d/Bus t/Jan 01 2025 at 08:00 f/7 u/Jan 31 2025 at 23:59";
+        addRecurringExpenseCommand = new AddRecurringExpenseCommand(description);
+        addRecurringExpenseCommand.execute(budgetManager);
+
+        assertEquals(5, budgetManager.getBudgets().get("Overall").getExpenses().size(),
+                "Occurrences after the end date should not be added");
+        assertNull(budgetManager.getRecurringRules().get(0).getNextOccurrence());
     }
 
     @Test
@@ -88,7 +137,8 @@ public class AddRecurringExpenseCommandTest {
             Budget overallBudget = budgets.get("Overall");
             List<Expense> expenses = overallBudget.getExpenses();
 
-            assertEquals(2, expenses.size(), "Fallback should still allow expenses to be added");
+            assertEquals(1, expenses.size(), "Fallback should add the occurrence due now");
+            assertEquals(2, budgetManager.getRecurringRules().get(0).getCount());
             assertTrue(expenses.get(0).getDescription().contains("FallbackDate"), "Description should match");
 
         } catch (InvalidInputException e) {
@@ -48,6 +48,18 @@ class EditExpenseCommandTest {
         assertEquals("Lunch", budgetManager.getBudgets().get("Overall").getExpenses().get(0).getDescription());
     }
 
+    @Test
+    void testExecute_validAmount_expenseIdKeptAndNoIdUsed() throws InvalidInputException {
+        Expense expense = budgetManager.getBudgets().get("Overall").getExpenses().get(0);
+        long id = expense.getId();
+        long nextId = Expense.reserveIds(1) + 1;
+
+        new EditExpenseCommand("edit-expense 2 a/ 25").execute(budgetManager);
+
+        assertEquals(id, expense.getId());
+        assertEquals(nextId, Expense.reserveIds(1), "Editing should not use up an expense id");
+    }
+
     @Test
     void testExecute_validDateTime_expenseDateTimeUpdated() throws InvalidInputException {
         EditExpenseCommand command = new EditExpenseCommand("edit-expense 2 t/ Oct 03 2023 at 14:00");
@@ -0,0 +1,81 @@
+package budgetbuddy.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import budgetbuddy.exception.InvalidInputException;
+import budgetbuddy.model.BudgetManager;
+import budgetbuddy.model.Expense;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class ExportCommandTest {
+
+    private BudgetManager budgetManager;
+    private Path csvFile;
+    private Path jsonFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        budgetManager = new BudgetManager();
+        budgetManager.setBudget("Food", 500);
+        budgetManager.addExpenseToBudget("Food", 12.5, "Lunch, with \"Sam\"", "Apr 01 2025 at 12:00");
+        budgetManager.addExpenseToBudget("Overall", 1002, "Caf\u00e9", "Apr 02 2025 at 08:05");
+        budgetManager.addExpenseToBudget("Food", 3, "Snack", "Apr 03 2025 at 19:00");
+        csvFile = Files.createTempFile("budgetbuddy-export", ".csv");
+        jsonFile = Files.createTempFile("budgetbuddy-export", ".json");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(csvFile);
+        Files.deleteIfExists(jsonFile);
+    }
+
+    @Test
+    public void testExecute_csv_canBeImportedAgain() throws Exception {
+        new ExportCommand("export " + csvFile).execute(budgetManager);
+
+        List<String> lines = Files.readAllLines(csvFile, StandardCharsets.UTF_8);
+        assertEquals(4, lines.size());
+        assertEquals("Date,Description,Amount,Category", lines.get(0));
+        assertEquals("2025-04-01T12:00,\"Lunch, with \"\"Sam\"\"\",12.50,Food", lines.get(1));
+        assertEquals("2025-04-02T08:05,Caf\u00e9,1002.00,", lines.get(2));
+
+        BudgetManager imported = new BudgetManager();
+        imported.setBudget("Food", 500);
+        new ImportCommand("import " + csvFile).execute(imported);
+        List<Expense> expenses = imported.getBudgets().get("Overall").getExpenses();
+        assertEquals(3, expenses.size());
+        assertEquals("Lunch, with \"Sam\"", expenses.get(0).getDescription());
+        assertEquals(budgetManager.getBudgets().get("Overall").getTotalCents(),
+                imported.getBudgets().get("Overall").getTotalCents());
+        assertEquals(1550, imported.getBudgets().get("Food").getTotalCents());
+    }
+
+    @Test
+    public void testExecute_jsonWithWindow_exportsOnlyWindow() throws Exception {
+        new ExportCommand("export " + jsonFile + " start/Apr 02 2025 at 08:05 end/Apr 02 2025 at 23:59")
+                .execute(budgetManager);
+
+        String json = Files.readString(jsonFile, StandardCharsets.UTF_8);
+        assertEquals("[\n  {\"date\": \"2025-04-02T08:05\", \"description\": \"Caf\u00e9\", \"amount\": 1002.00,"
+                + " \"category\": \"\"}\n]\n", json);
+    }
+
+    @Test
+    public void testExecute_invalidInput_throwsInvalidInputException() {
+        assertThrows(InvalidInputException.class, () -> new ExportCommand("export").execute(budgetManager));
+        assertThrows(InvalidInputException.class, () -> new ExportCommand("export " + csvFile
+                + " start/April 1").execute(budgetManager));
+        assertThrows(InvalidInputException.class, () -> new ExportCommand("export " + csvFile
+                + " start/Apr 03 2025 at 00:00 end/Apr 01 2025 at 00:00").execute(budgetManager));
+    }
+}
@@ -88,6 +88,55 @@ public class FindExpenseCommandTest {
         assertTrue(output.contains("Lunch@Home"));
     }
 
+    @Test
+    public void execute_multipleKeywords_onlyExpensesMatchingAllFound() throws InvalidInputException {
+        budgetManager.addExpenseToBudget("", 12.0, "Chicken Rice", "");
+        budgetManager.addExpenseToBudget("", 8.0, "Fried Rice", "");
+        outputStreamCaptor.reset();
+
+        FindExpenseCommand command = new FindExpenseCommand("find rice chick");
+
+        command.execute(budgetManager);
+
+        String output = outputStreamCaptor.toString();
+        assertTrue(output.contains("Chicken Rice"));
+        assertFalse(output.contains("Fried Rice"));
+    }
+
+    @Test
+    public void execute_substringKeyword_successfullyFindsExpense() throws InvalidInputException {
+        budgetManager.addExpenseToBudget("", 4.5, "Iced Coffee", "");
+        budgetManager.addExpenseToBudget("", 15.0, "Lunch@Home", "");
+        outputStreamCaptor.reset();
+
+        new FindExpenseCommand("find OFFE").execute(budgetManager);
+        assertTrue(outputStreamCaptor.toString().contains("Iced Coffee"));
+
+        outputStreamCaptor.reset();
+        new FindExpenseCommand("find h@h").execute(budgetManager);
+        assertTrue(outputStreamCaptor.toString().contains("Lunch@Home"));
+
+        outputStreamCaptor.reset();
+        new FindExpenseCommand("find ee").execute(budgetManager);
+        assertTrue(outputStreamCaptor.toString().contains("Iced Coffee"));
+        assertFalse(outputStreamCaptor.toString().contains("Lunch@Home"));
+    }
+
+    @Test
+    public void execute_afterEditAndDelete_indexKeptUpToDate() throws InvalidInputException {
+        budgetManager.findExpense("lunch");
+        budgetManager.editExpense(3, "", "Brunch", "");
+        budgetManager.deleteExpense(1);
+        outputStreamCaptor.reset();
+
+        new FindExpenseCommand("find lunch").execute(budgetManager);
+        assertTrue(outputStreamCaptor.toString().contains("No matching expenses found"));
+
+        outputStreamCaptor.reset();
+        new FindExpenseCommand("find brunch").execute(budgetManager);
+        assertTrue(outputStreamCaptor.toString().contains("Brunch"));
+    }
+
     @Test
     public void  testIsExit_alwaysReturnsFalse() {
         // Test that FindExpenseCommand does not signal to exit the application
@@ -0,0 +1,103 @@
+package budgetbuddy.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import budgetbuddy.exception.InvalidInputException;
+import budgetbuddy.model.Budget;
+import budgetbuddy.model.BudgetManager;
+import budgetbuddy.model.Expense;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ImportCommandTest {
+
+    private BudgetManager budgetManager;
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        budgetManager = new BudgetManager();
+        budgetManager.setBudget("Food", 500);
+        file = Files.createTempFile("budgetbuddy-import", ".csv");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testExecute_quotedFieldsAndCategories_importedInTimeOrder() throws Exception {
+        Files.writeString(file, "Date,Description,Amount,Category\r\n"
+                + "2025-03-02 12:30,\"Lunch, with \"\"Sam\"\"\",12.50,Food\r\n"
+                + "2025-03-01,Bus,\"1,002.00\",Travel\r\n"
+                + "2025-03-03,Broken,abc,Food\r\n"
+                + "2025-03-04,Refund,(5.00),Food\r\n"
+                + "\r\n", StandardCharsets.UTF_8);
+
+        ImportCommand command = new ImportCommand("import " + file);
+        command.execute(budgetManager);
+
+        Budget overall = budgetManager.getBudgets().get("Overall");
+        List<Expense> expenses = overall.getExpenses();
+        assertEquals(2, expenses.size(), "The unreadable row and the credit should be skipped");
+        assertEquals("Bus", expenses.get(0).getDescription());
+        assertEquals(LocalDateTime.of(2025, 3, 1, 0, 0), expenses.get(0).getDateTime());
+        assertEquals("Lunch, with \"Sam\"", expenses.get(1).getDescription());
+        assertEquals(101450, overall.getTotalCents());
+        assertEquals(1250, budgetManager.getBudgets().get("Food").getTotalCents());
+        assertFalse(budgetManager.getBudgets().containsKey("Travel"), "Unknown categories should not be created");
+    }
+
+    @Test
+    public void testExecute_columnsByNumberAndDatePattern_imported() throws Exception {
+        Files.writeString(file, "When;Payee;Debit\n"
+                + "15/04/2025;Cinema;9,90\n", StandardCharsets.UTF_8);
+
+        ImportCommand command = new ImportCommand("import " + file + " a/Debit d/2 t/1 f/dd/MM/yyyy");
+        command.execute(budgetManager);
+
+        Expense expense = budgetManager.getBudgets().get("Overall").getExpenses().get(0);
+        assertEquals("Cinema", expense.getDescription());
+        assertEquals(9.90, expense.getAmount());
+        assertEquals(LocalDateTime.of(2025, 4, 15, 0, 0), expense.getDateTime());
+    }
+
+    @Test
+    public void testExecute_europeanAmountsWithNegativeSpending_creditsSkipped() throws Exception {
+        Files.writeString(file, "Datum;Omschrijving;Bedrag\n"
+                + "2025-05-01;Shop;-1.234\n"
+                + "2025-05-02;Rent;-1.234,56\n"
+                + "2025-05-03;Salary;2.500,00\n"
+                + "2025-05-04;Market;-1.234\n", StandardCharsets.UTF_8);
+
+        new ImportCommand("import " + file + " a/Bedrag d/Omschrijving t/Datum s/-").execute(budgetManager);
+
+        List<Expense> expenses = budgetManager.getBudgets().get("Overall").getExpenses();
+        assertEquals(2, expenses.size(), "The ambiguous first amount and the salary should be skipped");
+        assertEquals(123456, expenses.get(0).getAmountCents());
+        assertEquals("Market", expenses.get(1).getDescription());
+        assertEquals(123400, expenses.get(1).getAmountCents());
+    }
+
+    @Test
+    public void testExecute_missingColumnOrFile_throwsInvalidInputException() throws IOException {
+        Files.writeString(file, "Date,Description\n2025-03-01,Bus\n", StandardCharsets.UTF_8);
+
+        assertThrows(InvalidInputException.class, () -> new ImportCommand("import " + file).execute(budgetManager));
+        assertThrows(InvalidInputException.class, () -> new ImportCommand("import " + file + ".missing")
+                .execute(budgetManager));
+        assertThrows(InvalidInputException.class, () -> new ImportCommand("import").execute(budgetManager));
+        assertEquals(0, budgetManager.getBudgets().get("Overall").getExpenses().size());
+    }
+}
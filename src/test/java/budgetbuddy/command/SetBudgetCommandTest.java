@@ -1,6 +1,7 @@
 package budgetbuddy.command;
 
 import budgetbuddy.model.BudgetManager;
+import budgetbuddy.model.BudgetPeriod;
 import budgetbuddy.exception.InvalidInputException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -96,6 +98,23 @@ public class SetBudgetCommandTest {
         assertTrue(output.contains("Budget for Food@Home set to: $200.0"));
     }
 
+    @Test
+    public void testExecute_withPeriod_setsBudgetPeriod() throws InvalidInputException {
+        SetBudgetCommand command = new SetBudgetCommand("set-budget c/Food 100 p/weekly");
+
+        command.execute(budgetManager);
+
+        assertEquals(BudgetPeriod.WEEKLY, budgetManager.getBudgets().get("Food").getPeriod());
+        assertTrue(outputStreamCaptor.toString().contains("The Food budget now applies to each period: Weekly"));
+    }
+
+    @Test
+    public void testExecute_unknownPeriod_throwsInvalidInputException() {
+        SetBudgetCommand command = new SetBudgetCommand("set-budget c/Food 100 p/yearly");
+
+        assertThrows(InvalidInputException.class, () -> command.execute(budgetManager));
+    }
+
     @Test
     public void testIsExit_alwaysReturnsFalse() {
         // Verify that the SetBudgetCommand does not signal the app to exit
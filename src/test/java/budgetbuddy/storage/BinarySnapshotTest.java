@@ -0,0 +1,90 @@
+package budgetbuddy.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import budgetbuddy.model.AlertThreshold;
+import budgetbuddy.model.Budget;
+import budgetbuddy.model.BudgetManager;
+import budgetbuddy.model.BudgetPeriod;
+import budgetbuddy.model.Expense;
+import budgetbuddy.model.Recurrence;
+import budgetbuddy.model.RecurringRule;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BinarySnapshotTest {
+
+    @Test
+    public void testRender_loadedBack_everythingRestored() {
+        BudgetManager manager = new BudgetManager();
+        Budget food = new Budget("Food", 200);
+        food.setPeriod(BudgetPeriod.MONTHLY);
+        food.addAlertThreshold(AlertThreshold.ofPercentage(8000));
+        food.addAlertThreshold(AlertThreshold.ofCents(15000));
+        manager.getBudgets().put("Food", food);
+        Expense lunch = Expense.withId(41, 1250, "Caf\u00e9 lunch", LocalDateTime.of(2025, 4, 1, 12, 0));
+        Expense bus = Expense.withId(7, 4000, "Bus pass", LocalDateTime.of(2025, 4, 3, 8, 0));
+        manager.getBudgets().get("Overall").addExpense(lunch);
+        food.addExpense(lunch);
+        manager.getBudgets().get("Overall").addExpense(bus);
+        manager.getBudgetAlert().restoreAlert(500);
+        RecurringRule rent = new RecurringRule(3, "", 90000, "Rent", LocalDateTime.of(2025, 1, 1, 9, 0),
+                Recurrence.parse("monthly"), 12, null);
+        rent.setGeneratedCount(4);
+        manager.restoreRecurringRule(rent);
+        RecurringRule gym = new RecurringRule(5, "Food", 2000, "Gym", LocalDateTime.of(2025, 2, 1, 7, 0),
+                Recurrence.parse("FREQ=WEEKLY;INTERVAL=2"), 0, LocalDateTime.of(2025, 12, 31, 23, 59));
+        manager.restoreRecurringRule(gym);
+
+        BudgetManager loaded = new BudgetManager();
+        int coveredSegment = BinarySnapshot.load(loaded, ByteBuffer.wrap(BinarySnapshot.render(manager, 9)));
+
+        assertEquals(9, coveredSegment);
+        Budget loadedFood = loaded.getBudgets().get("Food");
+        assertEquals(20000, loadedFood.getLimitCents());
+        assertEquals(BudgetPeriod.MONTHLY, loadedFood.getPeriod());
+        assertEquals(List.of(AlertThreshold.ofPercentage(8000), AlertThreshold.ofCents(15000)),
+                loadedFood.getAlertThresholds().getThresholds());
+        assertEquals(50000, loaded.getBudgetAlert().getAlertCents());
+
+        List<Expense> overall = loaded.getBudgets().get("Overall").getExpenses();
+        assertEquals(2, overall.size());
+        assertEquals(41, overall.get(0).getId());
+        assertEquals("Caf\u00e9 lunch", overall.get(0).getDescription());
+        assertEquals(1250, overall.get(0).getAmountCents());
+        assertEquals(LocalDateTime.of(2025, 4, 1, 12, 0), overall.get(0).getDateTime());
+        assertEquals(7, overall.get(1).getId());
+        assertEquals(1, loadedFood.getExpenses().size());
+        assertSame(overall.get(0), loadedFood.getExpenses().get(0), "Food should share Overall's expense");
+
+        List<RecurringRule> rules = loaded.getRecurringRules();
+        assertEquals(2, rules.size());
+        RecurringRule loadedRent = loaded.getRecurringRuleById(3);
+        assertEquals("", loadedRent.getCategory());
+        assertEquals(90000, loadedRent.getAmountCents());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 9, 0), loadedRent.getStart());
+        assertEquals(rent.getRecurrence().toString(), loadedRent.getRecurrence().toString());
+        assertEquals(12, loadedRent.getCount());
+        assertNull(loadedRent.getUntil());
+        assertEquals(4, loadedRent.getGeneratedCount());
+        RecurringRule loadedGym = loaded.getRecurringRuleById(5);
+        assertEquals("Food", loadedGym.getCategory());
+        assertEquals(gym.getRecurrence().toString(), loadedGym.getRecurrence().toString());
+        assertEquals(LocalDateTime.of(2025, 12, 31, 23, 59), loadedGym.getUntil());
+    }
+
+    @Test
+    public void testLoad_otherVersion_rejected() {
+        byte[] snapshot = BinarySnapshot.render(new BudgetManager(), 0);
+        ByteBuffer.wrap(snapshot).putInt(Integer.BYTES, 2);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> BinarySnapshot.load(new BudgetManager(), ByteBuffer.wrap(snapshot)));
+    }
+}
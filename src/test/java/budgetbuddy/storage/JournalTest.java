@@ -0,0 +1,45 @@
+package budgetbuddy.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class JournalTest {
+
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = Files.createTempFile("budgetbuddy-journal", ".1");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testClose_queuedRecords_allWrittenBeforeFileCloses() throws IOException {
+        // Neither the sync interval nor the record threshold is reached, so only close forces the writes out
+        Journal journal = new Journal(file.toString(), null, 60_000, Integer.MAX_VALUE);
+        for (int i = 1; i <= 500; i++) {
+            journal.budgetLimitSet("Food", i);
+        }
+        journal.close();
+        journal.awaitClosed();
+
+        List<String> records = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(500, records.size());
+        assertEquals(500, journal.getRecordCount());
+        assertEquals("BUDGET:Food|1.00", records.get(0));
+        assertEquals("BUDGET:Food|500.00", records.get(499));
+    }
+}
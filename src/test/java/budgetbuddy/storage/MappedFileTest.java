@@ -0,0 +1,56 @@
+package budgetbuddy.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+public class MappedFileTest {
+
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = Files.createTempFile("budgetbuddy-mapped", ".bin");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testRead_wholeFile_passedFromStart() throws IOException {
+        Files.write(file, new byte[]{0, 0, 0, 42, 7});
+
+        int first = MappedFile.read(file.toFile(), buffer -> buffer.getInt());
+        int size = MappedFile.read(file.toFile(), buffer -> buffer.remaining());
+
+        assertEquals(42, first);
+        assertEquals(5, size);
+    }
+
+    @Test
+    public void testRead_fileReplacedAfterwards_newContentRead() throws IOException {
+        Files.writeString(file, "old", StandardCharsets.UTF_8);
+        MappedFile.read(file.toFile(), buffer -> buffer.get());
+
+        Path replacement = Files.createTempFile(file.getParent(), "budgetbuddy-mapped", ".tmp");
+        Files.writeString(replacement, "new data", StandardCharsets.UTF_8);
+        Files.move(replacement, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        byte[] content = MappedFile.read(file.toFile(), buffer -> {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return bytes;
+        });
+        assertEquals("new data", new String(content, StandardCharsets.UTF_8));
+    }
+}
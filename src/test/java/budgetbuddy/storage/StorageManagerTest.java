@@ -0,0 +1,215 @@
+package budgetbuddy.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import budgetbuddy.exception.InvalidInputException;
+import budgetbuddy.model.Budget;
+import budgetbuddy.model.BudgetManager;
+import budgetbuddy.model.Expense;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class StorageManagerTest {
+
+    private Path directory;
+    private PrintStream originalOut;
+    private ByteArrayOutputStream output;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("budgetbuddy-storage");
+        StorageManager.setDirectory(directory.toFile());
+        originalOut = System.out;
+        output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        StorageManager.closeJournal();
+        System.setOut(originalOut);
+        StorageManager.setDirectory(new File("."));
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void testLoad_journalWithoutSnapshot_changesReplayed() throws InvalidInputException {
+        BudgetManager manager = new BudgetManager();
+        StorageManager.load(manager);
+        StorageManager.openJournal(manager);
+        manager.setBudget("Food", 100);
+        manager.addExpenseToBudget("Food", 12.5, "Caf\u00e9", "Apr 01 2025 at 12:00");
+        manager.addExpenseToBudget("Food", 3, "Snack", "Apr 02 2025 at 12:00");
+        manager.addExpenseToBudget("Overall", 40, "Bus pass", "Apr 03 2025 at 08:00");
+        manager.deleteExpense(2);
+        manager.editExpense(2, "4", "", "");
+        // Stopping without a save leaves only the journal behind, as a crash would
+        StorageManager.closeJournal();
+        assertFalse(Files.exists(directory.resolve("budget_data.txt")));
+
+        BudgetManager reloaded = new BudgetManager();
+        StorageManager.load(reloaded);
+
+        Budget food = reloaded.getBudgets().get("Food");
+        List<Expense> expenses = food.getExpenses();
+        assertEquals(1, expenses.size());
+        assertEquals("Caf\u00e9", expenses.get(0).getDescription());
+        assertEquals(400, food.getTotalCents(), "The edited amount should be replayed");
+        assertEquals(10000, food.getLimitCents());
+        assertEquals(manager.getBudgets().get("Overall").getTotalCents(),
+                reloaded.getBudgets().get("Overall").getTotalCents());
+    }
+
+    @Test
+    public void testLoad_truncatedLastRecord_earlierRecordsKept() throws IOException {
+        byte[] records = ("BUDGET:Food|100.00\n"
+                + "ADD:Food|12.50|Caf\u00e9|Apr 01 2025 at 12:00|" + Expense.reserveIds(1) + "\n"
+                + "ADD:Food|3.00|Caf").getBytes(StandardCharsets.UTF_8);
+        byte[] cutOff = new byte[records.length + 1];
+        System.arraycopy(records, 0, cutOff, 0, records.length);
+        cutOff[records.length] = (byte) 0xC3; // First byte of a two-byte character whose second byte was lost
+        Files.write(directory.resolve("budget_data.journal.1"), cutOff);
+
+        BudgetManager manager = new BudgetManager();
+        StorageManager.load(manager);
+
+        Budget food = manager.getBudgets().get("Food");
+        assertEquals(1, food.getExpenses().size());
+        assertEquals("Caf\u00e9", food.getExpenses().get(0).getDescription());
+        assertEquals(1250, food.getTotalCents());
+        assertTrue(output.toString().contains("Skipping corrupted journal record"));
+
+        // New changes go to a new segment rather than after the cut-off record
+        StorageManager.openJournal(manager);
+        manager.setBudget("Fun", 50);
+        StorageManager.closeJournal();
+        assertTrue(Files.exists(directory.resolve("budget_data.journal.2")));
+    }
+
+    @Test
+    public void testLoad_savedAlert_restoredSilentlyAndCrossingsReportedOnce() throws IOException {
+        StringBuilder snapshot = new StringBuilder("JOURNAL:0\nCATEGORY:Overall|LIMIT:0.00\n");
+        for (int i = 1; i <= 20; i++) {
+            snapshot.append("EXPENSE:4.00|Snack|Apr ").append(String.format("%02d", i)).append(" 2025 at 12:00||")
+                    .append(Expense.reserveIds(1)).append("\n");
+        }
+        snapshot.append("ALERT:100.00\n");
+        Files.writeString(directory.resolve("budget_data.txt"), snapshot.toString(), StandardCharsets.UTF_8);
+
+        BudgetManager manager = new BudgetManager();
+        StorageManager.load(manager);
+        assertEquals("", output.toString(), "Loading should not print anything about the alert");
+        assertEquals(10000, manager.getBudgetAlert().getAlertCents());
+
+        manager.addExpenseToBudget("Overall", 30, "Dinner", "Apr 21 2025 at 19:00");
+        manager.addExpenseToBudget("Overall", 5, "Bus", "Apr 22 2025 at 08:00");
+        assertEquals(1, countOccurrences(output.toString(), "have exceeded the alert limit"),
+                "The first crossing after loading should be reported once");
+    }
+
+    @Test
+    public void testLoad_olderFormatFile_savedWithIdsBeforeJournaling() throws IOException, InvalidInputException {
+        // Released versions listed every budget's expenses under it, as doubles and without ids
+        Files.writeString(directory.resolve("budget_data.txt"), "CATEGORY:Overall|LIMIT:0.0\n"
+                + "EXPENSE:12.5|Lunch|Apr 01 2025 at 12:00\n"
+                + "EXPENSE:3.0|Bus|Apr 02 2025 at 08:00\n"
+                + "CATEGORY:Food|LIMIT:100.0\n"
+                + "EXPENSE:12.5|Lunch|Apr 01 2025 at 12:00\n"
+                + "ALERT:0.0\n", StandardCharsets.UTF_8);
+
+        BudgetManager manager = new BudgetManager();
+        StorageManager.load(manager);
+
+        Budget food = manager.getBudgets().get("Food");
+        assertSame(manager.getBudgets().get("Overall").getExpenses().get(0), food.getExpenses().get(0),
+                "Food should share Overall's expense");
+        assertTrue(Files.readString(directory.resolve("budget_data.txt")).startsWith("JOURNAL:"),
+                "The file should be saved in the current format right away");
+
+        StorageManager.openJournal(manager);
+        manager.deleteExpense(2);
+        StorageManager.closeJournal();
+
+        BudgetManager reloaded = new BudgetManager();
+        StorageManager.load(reloaded);
+        assertEquals(0, reloaded.getBudgets().get("Food").getExpenses().size());
+        assertEquals(300, reloaded.getBudgets().get("Overall").getTotalCents());
+    }
+
+    @Test
+    public void testCompaction_twoRounds_silentAndReloadsSameTotals() {
+        Thread testThread = Thread.currentThread();
+        StringBuilder backgroundOutput = new StringBuilder();
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                if (Thread.currentThread() != testThread) {
+                    synchronized (backgroundOutput) {
+                        backgroundOutput.append((char) b);
+                    }
+                }
+            }
+        }, true));
+
+        BudgetManager manager = new BudgetManager();
+        StorageManager.load(manager);
+        StorageManager.openJournal(manager);
+        manager.setBudget("Food", 100);
+        manager.setBudgetAlert(50);
+        // Each batch goes past the compaction threshold; the second compaction reloads the first one's snapshot
+        manager.addExpenses(Map.of("Food", createExpenses(1000, 1)));
+        manager.addExpenses(Map.of("Overall", createExpenses(1000, 3)));
+        StorageManager.closeJournal();
+
+        assertEquals("", backgroundOutput.toString(), "Compaction should not print anything");
+        assertTrue(Files.exists(directory.resolve("budget_data.txt")));
+        assertFalse(Files.exists(directory.resolve("budget_data.journal.1")), "Folded segments should be deleted");
+
+        BudgetManager reloaded = new BudgetManager();
+        StorageManager.load(reloaded);
+        assertEquals(manager.getBudgets().get("Overall").getTotalCents(),
+                reloaded.getBudgets().get("Overall").getTotalCents());
+        assertEquals(manager.getBudgets().get("Food").getTotalCents(),
+                reloaded.getBudgets().get("Food").getTotalCents());
+        assertEquals(2000, reloaded.getBudgets().get("Overall").getExpenses().size());
+        assertEquals(5000, reloaded.getBudgetAlert().getAlertCents());
+    }
+
+    private static List<Expense> createExpenses(int count, double amount) {
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            expenses.add(new Expense(amount, "Item " + (i % 10), "Apr 01 2025 at 12:00"));
+        }
+        return expenses;
+    }
+
+    private static int countOccurrences(String text, String pattern) {
+        int count = 0;
+        for (int i = text.indexOf(pattern); i >= 0; i = text.indexOf(pattern, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,122 @@
+package budgetbuddy.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import budgetbuddy.model.BudgetManager;
+import budgetbuddy.model.Expense;
+import budgetbuddy.model.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TextSnapshotLoaderTest {
+    private static final DateTimeFormatter DATETIME_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy 'at' HH:mm");
+
+    private Path file;
+    private PrintStream originalOut;
+    private ByteArrayOutputStream output;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = Files.createTempFile("budgetbuddy-snapshot", ".txt");
+        originalOut = System.out;
+        output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        System.setOut(originalOut);
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testLoad_largeFile_sameExpensesInFileOrder() throws IOException {
+        StringBuilder snapshot = new StringBuilder("JOURNAL:4\nCATEGORY:Overall|LIMIT:0.00\n")
+                .append("CATEGORY:Food|LIMIT:50.00\n");
+        List<String> expected = new ArrayList<>();
+        LocalDateTime dateTime = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < 30000; i++) {
+            // Descriptions of varying length, some with two-byte characters, so chunks end at uneven places
+            String description = "Item " + i + " Caf\u00e9".repeat(i % 7);
+            String amount = (i / 100) + "." + String.format("%02d", i % 100);
+            String category = (i % 3 == 0) ? "Food" : "";
+            snapshot.append("EXPENSE:").append(amount).append('|').append(description).append('|')
+                    .append(dateTime.format(DATETIME_FORMAT)).append('|').append(category).append('|')
+                    .append(i + 1).append('\n');
+            expected.add((i + 1) + "|" + amount + "|" + description + "|" + dateTime.format(DATETIME_FORMAT));
+            dateTime = dateTime.plusMinutes(1);
+        }
+        Files.writeString(file, snapshot.toString(), StandardCharsets.UTF_8);
+        assertTrue(Files.size(file) > 1024 * 1024, "The file should be large enough to be parsed in parallel");
+
+        BudgetManager manager = new BudgetManager();
+        int coveredSegment = TextSnapshotLoader.load(manager, file.toFile(), true);
+
+        assertEquals(4, coveredSegment);
+        assertEquals("", output.toString(StandardCharsets.UTF_8));
+        List<Expense> expenses = manager.getBudgets().get("Overall").getExpenses();
+        assertEquals(expected.size(), expenses.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Expense e = expenses.get(i);
+            assertEquals(expected.get(i), e.getId() + "|" + Money.toPlainString(e.getAmountCents()) + "|"
+                    + e.getDescription() + "|" + e.getDateTimeString());
+        }
+        assertEquals(10000, manager.getBudgets().get("Food").getExpenses().size());
+    }
+
+    @Test
+    public void testLoad_largeFileWithCorruptedLines_reportedInFileOrder() throws IOException {
+        StringBuilder snapshot = new StringBuilder("JOURNAL:0\nCATEGORY:Overall|LIMIT:0.00\n");
+        for (int i = 0; i < 40000; i++) {
+            if (i % 1000 == 0) {
+                snapshot.append("EXPENSE:bad").append(i).append("|Broken|Jan 01 2025 at 10:00||").append(i + 1)
+                        .append('\n');
+            } else {
+                snapshot.append("EXPENSE:1.00|Coffee and a pastry at the corner|Jan 01 2025 at 10:00||")
+                        .append(i + 1).append('\n');
+            }
+        }
+        Files.writeString(file, snapshot.toString(), StandardCharsets.UTF_8);
+        assertTrue(Files.size(file) > 1024 * 1024, "The file should be large enough to be parsed in parallel");
+
+        BudgetManager manager = new BudgetManager();
+        TextSnapshotLoader.load(manager, file.toFile(), true);
+
+        String[] reports = output.toString(StandardCharsets.UTF_8).split(System.lineSeparator());
+        assertEquals(40, reports.length);
+        for (int r = 0; r < reports.length; r++) {
+            assertTrue(reports[r].startsWith("Skipping corrupted line: \"EXPENSE:bad" + (r * 1000) + "|"),
+                    "Report " + r + " is out of order: " + reports[r]);
+        }
+        assertEquals(39960, manager.getBudgets().get("Overall").getExpenses().size());
+    }
+
+    @Test
+    public void testLoad_lineLongerThanChunk_loadedWhole() throws IOException {
+        String description = "x".repeat(600 * 1024);
+        Files.writeString(file, "JOURNAL:0\nCATEGORY:Overall|LIMIT:0.00\n"
+                + "EXPENSE:2.50|" + description + "|Jan 01 2025 at 10:00||1\n"
+                + "EXPENSE:1.00|Tea|Jan 02 2025 at 10:00||2", StandardCharsets.UTF_8);
+
+        BudgetManager manager = new BudgetManager();
+        TextSnapshotLoader.load(manager, file.toFile(), true);
+
+        List<Expense> expenses = manager.getBudgets().get("Overall").getExpenses();
+        assertEquals(2, expenses.size());
+        assertEquals(description, expenses.get(0).getDescription());
+        assertEquals("Tea", expenses.get(1).getDescription());
+    }
+}